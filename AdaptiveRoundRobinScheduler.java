@@ -0,0 +1,97 @@
+import java.util.Optional;
+
+/**
+ * Adaptive Round Robin: FIFO like SRR, but the quantum is retuned at every dispatch
+ * from exponentially weighted statistics kept here:
+ *  - burst:   CPU the dispatched job still needs in its current burst
+ *  - preempt: fraction of slices that hit the quantum instead of finishing the burst
+ *  - depth:   jobs competing for the CPU (Ready + the candidate)
+ * The quantum follows scale * burst, where scale grows while more than TARGET_PREEMPT
+ * of slices are cut short and shrinks otherwise. With a latency target (C line LAT=),
+ * the quantum is also capped so depth * quantum stays within it.
+ * Everything is O(1) per dispatch; the recent quantum trajectory is kept in a small ring.
+ */
+public class AdaptiveRoundRobinScheduler implements Scheduler {
+    private static final double ALPHA = 0.2;          // EWMA weight of the newest sample
+    private static final double TARGET_PREEMPT = 0.2; // aim: ~80% of bursts finish within one slice
+    private static final double STEP = 0.05;          // multiplicative scale adjustment per dispatch
+    private static final double MIN_SCALE = 0.25, MAX_SCALE = 4.0;
+    private static final long MIN_QUANTUM = 2L, MAX_QUANTUM = 100L;
+    private static final int TRAJECTORY = 16;
+
+    private final long latencyTarget; // 0 = none
+
+    private double burstEwma;
+    private double preemptEwma = TARGET_PREEMPT;
+    private double depthEwma = 1.0;
+    private double scale = 1.0;
+    private long quantum;
+
+    // Previous dispatch, judged when the next one happens
+    private Process last = null;
+    private long lastBurstLeft;
+    private long dispatches = 0L;
+
+    // Ring of (dispatch number, quantum) at each change
+    private final long[] trajDispatch = new long[TRAJECTORY];
+    private final long[] trajQuantum = new long[TRAJECTORY];
+    private long trajCount = 0L; // changes recorded so far; long so the ring index never overflows
+
+    public AdaptiveRoundRobinScheduler(long initialQuantum, long latencyTarget) {
+        this.quantum = initialQuantum;
+        this.burstEwma = initialQuantum;
+        this.latencyTarget = Math.max(0L, latencyTarget);
+    }
+
+    @Override
+    public Optional<Process> selectNextProcess(ReadyQueue rq) {
+        return rq.dequeue();
+    }
+
+    @Override
+    public long timeQuantumFor(Process candidate, ReadyQueue rq) {
+        if (last != null) {
+            // Cut short by the quantum: still has CPU left in the burst it was dispatched with.
+            boolean preempted = last.state() == ProcessState.READY && last.burstLeft() > 0
+                    && lastBurstLeft - last.burstLeft() >= quantum;
+            preemptEwma += ALPHA * ((preempted ? 1.0 : 0.0) - preemptEwma);
+        }
+        burstEwma += ALPHA * (candidate.burstLeft() - burstEwma);
+        depthEwma += ALPHA * ((rq.size() + 1) - depthEwma);
+
+        scale *= preemptEwma > TARGET_PREEMPT ? (1.0 + STEP) : (1.0 - STEP);
+        scale = Math.max(MIN_SCALE, Math.min(MAX_SCALE, scale));
+
+        long q = Math.round(scale * burstEwma);
+        if (latencyTarget > 0) {
+            q = Math.min(q, Math.round(latencyTarget / depthEwma));
+        }
+        q = Math.max(MIN_QUANTUM, Math.min(MAX_QUANTUM, q));
+
+        dispatches++;
+        if (q != quantum || trajCount == 0) {
+            int i = (int) (trajCount++ % TRAJECTORY);
+            trajDispatch[i] = dispatches;
+            trajQuantum[i] = q;
+        }
+        quantum = q;
+
+        last = candidate;
+        lastBurstLeft = candidate.burstLeft();
+        return q;
+    }
+
+    @Override
+    public String statusLine() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Adaptive quantum: %d (burst EWMA %.2f, preempt ratio %.2f, depth %.2f, scale %.2f)%n",
+                quantum, burstEwma, preemptEwma, depthEwma, scale));
+        sb.append("Quantum trajectory (dispatch:quantum):");
+        long from = Math.max(0L, trajCount - TRAJECTORY);
+        for (long n = from; n < trajCount; n++) {
+            int i = (int) (n % TRAJECTORY);
+            sb.append(' ').append(trajDispatch[i]).append(':').append(trajQuantum[i]);
+        }
+        return sb.toString();
+    }
+}
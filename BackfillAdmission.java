@@ -0,0 +1,113 @@
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * BackfillAdmission: EASY backfilling for HoldQueue2.
+ * When the HQ2 head does not fit, project when it will: release the memory/devices of
+ * Ready, running and I/O-blocked jobs in order of remaining burst (the order they finish under
+ * round-robin processor sharing) until the head fits. Whatever is left over at that
+ * point beyond the head's demand is "extra"; a later HQ2 job may be admitted now if it
+ * fits both the currently free resources and the extra, so the head's reservation is kept.
+ * Every allocation is a holder, so releasing them all frees the whole configuration and
+ * the walk always ends with the head fitting. HQ1 is not modelled: its jobs are admitted
+ * before the HQ2 head, so they can still take released resources and delay it.
+ *
+ * The jobs holding resources are kept ordered by remaining burst as they change
+ * (hold / reposition / release, O(log n) each), so select() only walks the holders
+ * that are released before the head fits.
+ */
+public class BackfillAdmission {
+
+    private boolean enabled = false;
+    private final TreeSet<Holder> byRemaining = new TreeSet<>();
+    private final Map<Process, Holder> holders = new IdentityHashMap<>();
+    private long seq = 0L;
+
+    /**
+     * Turn backfilling on or off for a new CONFIG block; forgets all holders.
+     */
+    public void configure(boolean enabled) {
+        this.enabled = enabled;
+        byRemaining.clear();
+        holders.clear();
+        seq = 0L;
+    }
+
+    public boolean enabled() { return enabled; }
+
+    /**
+     * p has been allocated memory/devices (admitted to Ready).
+     */
+    public void hold(Process p) {
+        if (!enabled) return;
+        Holder h = new Holder(p.remainingBurst(), seq++, p);
+        holders.put(p, h);
+        byRemaining.add(h);
+    }
+
+    /**
+     * p's remaining burst changed (end of a slice); move it to its new place.
+     */
+    public void reposition(Process p) {
+        if (!enabled) return;
+        Holder h = holders.get(p);
+        if (h == null || h.remaining == p.remainingBurst()) return;
+        byRemaining.remove(h);
+        Holder moved = new Holder(p.remainingBurst(), h.seq, p);
+        holders.put(p, moved);
+        byRemaining.add(moved);
+    }
+
+    /**
+     * p has released its memory/devices (completed).
+     */
+    public void release(Process p) {
+        if (!enabled) return;
+        Holder h = holders.remove(p);
+        if (h != null) byRemaining.remove(h);
+    }
+
+    /**
+     * A job behind the HQ2 head that can be admitted now without taking resources
+     * reserved for the head, or null.
+     */
+    public Process select(HoldQueue2 hq2, OtherKerServices svc) {
+        Process head = hq2.head();
+        if (head == null || svc.availableFor(head)) return null;
+
+        // Cheap rejection before projecting the head's start.
+        if (hq2.peekBackfill(svc.availMem(), svc.availDevs()) == null) return null;
+
+        long freeMem = svc.availMem();
+        long freeDevs = svc.availDevs();
+        for (Holder h : byRemaining) {
+            if (freeMem >= head.memoryReq() && freeDevs >= head.devReq()) break;
+            freeMem += h.p.memoryReq();
+            freeDevs += h.p.devReq();
+        }
+
+        long extraMem = freeMem - head.memoryReq();
+        long extraDevs = freeDevs - head.devReq();
+        return hq2.peekBackfill(Math.min(svc.availMem(), extraMem),
+                (int) Math.min(svc.availDevs(), extraDevs));
+    }
+
+    private static final class Holder implements Comparable<Holder> {
+        final long remaining;
+        final long seq;
+        final Process p;
+
+        Holder(long remaining, long seq, Process p) {
+            this.remaining = remaining;
+            this.seq = seq;
+            this.p = p;
+        }
+
+        @Override
+        public int compareTo(Holder o) {
+            int c = Long.compare(remaining, o.remaining);
+            return c != 0 ? c : Long.compare(seq, o.seq);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+/**
+ * Batch entry point: runs many traces in one warm JVM, each with a fresh SimulationController.
+ *
+ *   java BatchMain <dir | manifest> [outputDir]
+ *
+ * A directory runs every *.txt file in it (sorted by name). A manifest lists one trace
+ * per line, relative to the manifest's directory; blank lines and '#' comments are skipped.
+ * Outputs go to outputDir (default system_outputs) under the trace's file name; for a
+ * manifest the name is prefixed with the entry's position (001-input.txt), since entries
+ * from different directories may share a file name.
+ *
+ *   -Dsim.batch.threads=N   run N traces concurrently (default 1 = back-to-back)
+ *   -Dsim.series=dir        write each run's occupancy CSV to dir/<trace>.csv
+ *
+ * See build-cds.sh for an AppCDS archive that trims the remaining JVM startup.
+ */
+public class BatchMain {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("usage: java BatchMain <dir | manifest> [outputDir]");
+            System.exit(2);
+        }
+        Path source = Path.of(args[0]);
+        boolean manifest = !Files.isDirectory(source);
+        List<Path> traces = listTraces(source);
+        Path outDir = Path.of(args.length > 1 ? args[1] : "system_outputs");
+        Files.createDirectories(outDir);
+
+        String seriesProp = System.getProperty("sim.series");
+        Path seriesDir = seriesProp == null ? null : Files.createDirectories(Path.of(seriesProp));
+
+        int threads = Math.max(1, Integer.getInteger("sim.batch.threads", 1));
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long batchStart = System.nanoTime();
+        int failed = 0;
+        try {
+            List<Future<Long>> runs = new ArrayList<>();
+            for (int i = 0; i < traces.size(); i++) {
+                Path trace = traces.get(i);
+                String name = manifest
+                        ? String.format("%03d-%s", i + 1, trace.getFileName())
+                        : trace.getFileName().toString();
+                runs.add(pool.submit(() -> runOne(trace, name, outDir, seriesDir)));
+            }
+            for (int i = 0; i < traces.size(); i++) {
+                try {
+                    long nanos = runs.get(i).get();
+                    System.out.printf("%-40s %8.1f ms%n", traces.get(i), nanos / 1e6);
+                } catch (Exception e) {
+                    failed++;
+                    System.out.printf("%-40s FAILED: %s%n", traces.get(i), e.getCause() == null ? e : e.getCause());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        System.out.printf("%d traces, %d failed, %.1f ms total%n",
+                traces.size(), failed, (System.nanoTime() - batchStart) / 1e6);
+        if (failed > 0) System.exit(1);
+    }
+
+    private static long runOne(Path trace, String name, Path outDir, Path seriesDir) throws Exception {
+        List<String> runArgs = new ArrayList<>(List.of(trace.toString(), outDir.resolve(name).toString()));
+        if (seriesDir != null) {
+            runArgs.add(seriesDir.resolve(name.replaceFirst("\\.txt$", "") + ".csv").toString());
+        }
+
+        long start = System.nanoTime();
+        new SimulationController().main(runArgs.toArray(new String[0]));
+        return System.nanoTime() - start;
+    }
+
+    private static List<Path> listTraces(Path source) throws IOException {
+        List<Path> traces = new ArrayList<>();
+        if (Files.isDirectory(source)) {
+            try (Stream<Path> files = Files.list(source)) {
+                files.filter(p -> Files.isRegularFile(p) && p.getFileName().toString().endsWith(".txt"))
+                        .sorted()
+                        .forEach(traces::add);
+            }
+        } else {
+            Path base = source.toAbsolutePath().getParent();
+            for (String line : Files.readAllLines(source)) {
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                traces.add(base.resolve(line));
+            }
+        }
+        return traces;
+    }
+}
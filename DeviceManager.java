@@ -0,0 +1,129 @@
+import java.util.ArrayDeque;
+import java.util.List;
+
+/**
+ * DeviceManager: per-device FIFO wait queues for I/O bursts, plus the time
+ * accounting behind device utilisation and CPU/I-O overlap.
+ * These are shared I/O devices (CONFIG line IOD=, default 1), separate from the S devices
+ * that jobs pre-allocate exclusively; each serves one I/O burst at a time.
+ * PrManager calls advanceTo(now, cpuBusy) at the start of every event, so busy/overlap
+ * times are integrated over the constant stretch since the previous event.
+ */
+public class DeviceManager {
+
+    private static final class Device {
+        final ArrayDeque<Process> waiting = new ArrayDeque<>();
+        Process inService = null;
+        long busyTime = 0L;
+        long served = 0L;
+        long waitTotal = 0L;
+    }
+
+    private Device[] devices = new Device[0];
+    private int busyDevices = 0;
+    private int blocked = 0;       // jobs queued or in service
+    private boolean used = false;  // any I/O since configure()
+
+    private long startTime = 0L;
+    private long lastTime = 0L;
+    private long cpuBusyTime = 0L;
+    private long ioBusyTime = 0L;  // at least one device busy
+    private long overlapTime = 0L; // CPU and at least one device busy
+
+    public void configure(int devs, long now) {
+        devices = new Device[Math.max(0, devs)];
+        for (int i = 0; i < devices.length; i++) devices[i] = new Device();
+        busyDevices = 0;
+        blocked = 0;
+        used = false;
+        startTime = lastTime = now;
+        cpuBusyTime = ioBusyTime = overlapTime = 0L;
+    }
+
+    public void advanceTo(long now, boolean cpuBusy) {
+        if (now <= lastTime) return;
+        long dt = now - lastTime;
+        lastTime = now;
+        if (cpuBusy) cpuBusyTime += dt;
+        if (busyDevices > 0) {
+            ioBusyTime += dt;
+            if (cpuBusy) overlapTime += dt;
+            for (Device d : devices) {
+                if (d.inService != null) d.busyTime += dt;
+            }
+        }
+    }
+
+    /**
+     * Whether p's I/O bursts (if any) can run here: there is a device, and IO= names one of them.
+     */
+    public boolean accepts(Process p) {
+        if (!p.hasIo()) return true;
+        return devices.length > 0 && p.ioDevice() >= -1 && p.ioDevice() < devices.length;
+    }
+
+    public int deviceFor(Process p) {
+        if (p.ioDevice() >= 0) return p.ioDevice();
+        return (int) Math.floorMod(p.pid(), (long) devices.length); // no IO=: spread by job ID
+    }
+
+    /**
+     * Queue p (already blocked) at its device. Returns p if the device was idle
+     * and service starts now, else null.
+     */
+    public Process request(Process p, long now) {
+        used = true;
+        blocked++;
+        Device d = devices[deviceFor(p)];
+        if (d.inService != null) {
+            d.waiting.addLast(p);
+            return null;
+        }
+        start(d, p, now);
+        return p;
+    }
+
+    /**
+     * End the I/O burst in service at device dev and return its job.
+     */
+    public Process finish(int dev, long now) {
+        Device d = devices[dev];
+        Process p = d.inService;
+        d.inService = null;
+        d.served++;
+        busyDevices--;
+        blocked--;
+        return p;
+    }
+
+    /**
+     * Start the next queued job at device dev, if any, and return it.
+     */
+    public Process startNext(int dev, long now) {
+        Device d = devices[dev];
+        Process p = d.waiting.pollFirst();
+        if (p != null) start(d, p, now);
+        return p;
+    }
+
+    private void start(Device d, Process p, long now) {
+        d.waitTotal += p.startIoAt(now);
+        d.inService = p;
+        busyDevices++;
+    }
+
+    public List<Process> waitingAt(int dev) { return List.copyOf(devices[dev].waiting); }
+    public Process inServiceAt(int dev) { return devices[dev].inService; }
+
+    public boolean used() { return used; }
+    public int count() { return devices.length; }
+    public int blocked() { return blocked; }
+
+    public long elapsed() { return lastTime - startTime; }
+    public long cpuBusyTime() { return cpuBusyTime; }
+    public long ioBusyTime() { return ioBusyTime; }
+    public long overlapTime() { return overlapTime; }
+    public long busyTime(int dev) { return devices[dev].busyTime; }
+    public long served(int dev) { return devices[dev].served; }
+    public long waitTotal(int dev) { return devices[dev].waitTotal; }
+}
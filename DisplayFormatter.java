@@ -65,6 +65,29 @@ public class DisplayFormatter {
             out.println();
         }
 
+        // I/O device wait queues (only once a job has done I/O)
+        DeviceManager dm = pm.devices();
+        if (dm.used()) {
+            out.println("Jobs on I/O Devices                                     ");
+            out.println("--------------------------------------------------------");
+            for (int d = 0; d < dm.count(); d++) {
+                Process inService = dm.inServiceAt(d);
+                out.printf("I/O Device %d: %s", d, inService == null ? "idle" : "Job ID " + inService.pid());
+                for (Process p : dm.waitingAt(d)) {
+                    out.printf(", waiting Job ID %d", p.pid());
+                }
+                out.println();
+            }
+            out.println();
+        }
+
+        // Scheduler-specific state (e.g. adaptive quantum trajectory)
+        String schedStatus = pm.scheduler().statusLine();
+        if (schedStatus != null) {
+            out.println(schedStatus);
+            out.println();
+        }
+
         // Finished Jobs
         out.println();
         out.println("Finished Jobs (detailed)                                ");
@@ -72,23 +95,37 @@ public class DisplayFormatter {
         out.println("  Job    ArrivalTime     CompleteTime     TurnaroundTime    WaitingTime");
         out.println("------------------------------------------------------------------------");
 
-        List<Process> allFinished = FinishedRecorder.snapshot();
+        List<Process> allFinished = pm.finished().snapshot();
         if (allFinished.isEmpty()) {
             out.println("  EMPTY");
         } else {
             for (Process p : allFinished) {
-                out.printf("  %-6d %-14.2f %-16.2f %-17.2f %-13.2f%n",
+                out.printf("  %-6d %-14.2f %-16.2f %-17.2f %-13.2f",
                         p.pid(),
                         (double) p.arrivalTime(),
                         p.completionTime() == null ? 0.0 : (double) p.completionTime(),
                         (double) p.turnaroundTime(),
                         (double) p.waitingTime());
+                out.println(p.deadlineMissed() ? " deadline missed" : "");
             }
         }
         out.printf("Total Finished Jobs:             %d%n%n%n", allFinished.size());
     }
 
     public void dumpFinal(PrintWriter out, long time, PrManager pm) {
+        DeviceManager dm = pm.devices();
+        if (dm.used() && dm.elapsed() > 0) {
+            double span = dm.elapsed();
+            out.printf("CPU utilisation: %.2f%%   Device busy: %.2f%%   CPU/I-O overlap: %.2f%%%n",
+                    100.0 * dm.cpuBusyTime() / span, 100.0 * dm.ioBusyTime() / span, 100.0 * dm.overlapTime() / span);
+            for (int d = 0; d < dm.count(); d++) {
+                out.printf("I/O Device %d: utilisation %.2f%%, %d I/O bursts, total I/O wait %.2f%n",
+                        d, 100.0 * dm.busyTime(d) / span, dm.served(d), (double) dm.waitTotal(d));
+            }
+        }
+        if (pm.deadlineJobs() > 0) {
+            out.printf("Deadline misses: %d of %d jobs with deadlines%n", pm.deadlineMisses(), pm.deadlineJobs());
+        }
         out.println("--- Simulation finished at time " + time + ".00 ---");
     }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+import java.util.*;
+
+/**
+ * Earliest Deadline First: Ready is a min-heap on absolute deadline (jobs without one
+ * go last, FIFO among equals). Preemption happens at slice ends, so an earlier-deadline
+ * arrival waits at most one quantum.
+ */
+public class EdfScheduler implements Scheduler, ReadyOrder {
+    private final long fixedQuantum;
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>();
+    private long seq = 0L;
+
+    public EdfScheduler(long fixedQuantum) {
+        this.fixedQuantum = fixedQuantum;
+    }
+
+    @Override
+    public Optional<Process> selectNextProcess(ReadyQueue rq) {
+        return rq.dequeue();
+    }
+
+    @Override
+    public long timeQuantumFor(Process candidate, ReadyQueue rq) {
+        return fixedQuantum;
+    }
+
+    @Override
+    public ReadyOrder readyOrder() { return this; }
+
+    // ----------------------------------------------------------------------
+    // ReadyOrder
+    // ----------------------------------------------------------------------
+
+    @Override
+    public void add(Process p) {
+        long key = p.deadline() == null ? Long.MAX_VALUE : p.deadline();
+        heap.add(new Entry(p, key, seq++));
+    }
+
+    @Override
+    public Optional<Process> poll() {
+        Entry e = heap.poll();
+        return e == null ? Optional.empty() : Optional.of(e.p);
+    }
+
+    @Override
+    public int size() { return heap.size(); }
+
+    /**
+     * Ready jobs in selection order. Sorts a copy of the heap, O(n log n); only used for display.
+     */
+    @Override
+    public List<Process> snapshot() {
+        Entry[] entries = heap.toArray(new Entry[0]);
+        Arrays.sort(entries);
+        List<Process> out = new ArrayList<>(entries.length);
+        for (Entry e : entries) out.add(e.p);
+        return Collections.unmodifiableList(out);
+    }
+
+    @Override
+    public void clear() { heap.clear(); }
+
+    private static final class Entry implements Comparable<Entry> {
+        final Process p;
+        final long deadline;
+        final long seq;
+
+        Entry(Process p, long deadline, long seq) {
+            this.p = p;
+            this.deadline = deadline;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            int c = Long.compare(deadline, o.deadline);
+            return c != 0 ? c : Long.compare(seq, o.seq);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * ExternalSource: where SimulationController pulls CONFIG/ARRIVAL/DISPLAY commands from.
+ */
+public interface ExternalSource extends Closeable {
+
+    /**
+     * Next external command, waiting at most until simulation time {@code until}
+     * (Long.MAX_VALUE = no limit). Returns null if nothing arrived in time or the
+     * input is exhausted; use exhausted() to tell the two apart.
+     */
+    InputParser.External next(long until) throws IOException, InterruptedException;
+
+    boolean exhausted();
+}
@@ -2,21 +2,21 @@ import java.util.ArrayList;
 import java.util.List;
 
 /**
- * FinishedRecorder: central place to store completed processes.
- * If you prefer, you can move this into PrManager as a member list.
+ * FinishedRecorder: stores completed processes for one PrManager.
+ * Per instance (not static) so several simulations can share a JVM.
  */
 public class FinishedRecorder {
-    private static final List<Process> FINISHED = new ArrayList<>();
+    private final List<Process> finished = new ArrayList<>();
 
-    public static void record(Process p) {
-        FINISHED.add(p);
+    public void record(Process p) {
+        finished.add(p);
     }
 
-    public static List<Process> snapshot() {
-        return List.copyOf(FINISHED);
+    public List<Process> snapshot() {
+        return List.copyOf(finished);
     }
 
-    public static void clear() {
-        FINISHED.clear();
+    public void clear() {
+        finished.clear();
     }
 }
\ No newline at end of file
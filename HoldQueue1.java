@@ -1,11 +1,15 @@
 /**
  * HoldQueue1: sorted ascending by requested memory (priority queue).
+ * Copy-on-write: snapshot() hands out the current list as an O(1) read-only view
+ * and marks it shared; the next mutation copies before writing.
  */
 import java.util.*;
 public class HoldQueue1 {
-    private final List<Process> list = new ArrayList<>();
+    private List<Process> list = new ArrayList<>();
+    private boolean shared = false; // true once the current list has been handed out by snapshot()
 
     public void enqueue(Process p) {
+        unshare();
         int i = 0;
         while (i < list.size() && list.get(i).memoryReq() <= p.memoryReq()) i++;
         list.add(i, p);
@@ -17,11 +21,29 @@ public class HoldQueue1 {
         return svc.availableFor(p) ? p : null;
     }
 
-    public void remove(Process p) { list.remove(p); }
+    public void remove(Process p) {
+        unshare();
+        list.remove(p);
+    }
 
     public boolean isEmpty() { return list.isEmpty(); }
 
-    public List<Process> snapshot() { return List.copyOf(list); }
+    public int size() { return list.size(); }
+
+    public List<Process> snapshot() {
+        shared = true;
+        return Collections.unmodifiableList(list);
+    }
+
+    public void clear() {
+        list = new ArrayList<>();
+        shared = false;
+    }
 
-    public void clear() { list.clear(); }
+    private void unshare() {
+        if (shared) {
+            list = new ArrayList<>(list);
+            shared = false;
+        }
+    }
 }
\ No newline at end of file
@@ -1,11 +1,81 @@
+import java.util.*;
+
 /**
  * HoldQueue2: simple FIFO for lower-priority processes.
+ * Also indexes held jobs by (device demand, memory demand) so backfilling can
+ * find the best-fitting job behind a blocked head in O(devices * log n).
  */
 public class HoldQueue2 extends OSQueue {
+    // index.get(d): memory demand -> jobs needing exactly d devices, in FIFO order
+    private final List<TreeMap<Long, ArrayDeque<Process>>> index = new ArrayList<>();
+
+    @Override
+    public void enqueue(Process p) {
+        super.enqueue(p);
+        while (index.size() <= p.devReq()) index.add(new TreeMap<>());
+        index.get(p.devReq()).computeIfAbsent(p.memoryReq(), k -> new ArrayDeque<>()).addLast(p);
+    }
+
+    @Override
+    public Optional<Process> dequeue() {
+        Optional<Process> p = super.dequeue();
+        p.ifPresent(this::unindex);
+        return p;
+    }
 
     public Process peekIfAdmissible(OtherKerServices svc) {
-        Process p = dq.peekFirst();
+        Process p = peekFirst();
         if (p == null) return null;
         return svc.availableFor(p) ? p : null;
     }
+
+    /**
+     * Head of the queue, admissible or not (null if empty).
+     */
+    public Process head() {
+        return peekFirst();
+    }
+
+    /**
+     * Largest-memory held job with memoryReq <= memLimit and devReq <= devLimit
+     * (earliest queued on ties), or null if none fits.
+     */
+    public Process peekBackfill(long memLimit, int devLimit) {
+        Process best = null;
+        int maxDevs = Math.min(devLimit, index.size() - 1);
+        for (int d = 0; d <= maxDevs; d++) {
+            Map.Entry<Long, ArrayDeque<Process>> e = index.get(d).floorEntry(memLimit);
+            if (e == null) continue;
+            Process p = e.getValue().peekFirst();
+            if (best == null || p.memoryReq() > best.memoryReq()
+                    || (p.memoryReq() == best.memoryReq() && p.arrivalTime() < best.arrivalTime())) {
+                best = p;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Remove a queued job from the middle of the queue (backfilled past the head).
+     */
+    @Override
+    public void remove(Process p) {
+        super.remove(p);
+        unindex(p);
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        index.clear();
+    }
+
+    private void unindex(Process p) {
+        TreeMap<Long, ArrayDeque<Process>> byMem = index.get(p.devReq());
+        ArrayDeque<Process> jobs = byMem.get(p.memoryReq());
+        // Both callers take the first job of its bucket (FIFO head / peekBackfill), so this is O(1).
+        if (jobs.peekFirst() == p) jobs.pollFirst();
+        else jobs.remove(p);
+        if (jobs.isEmpty()) byMem.remove(p.memoryReq());
+    }
 }
\ No newline at end of file
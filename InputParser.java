@@ -5,7 +5,10 @@ import java.util.*;
  * InputParser: reads one external command (CONFIG/ARRIVAL/DISPLAY) at a time.
  * Format examples:
  *   C 2 M=100 S=1 SCHED=2
+ *   C 2 M=100 S=1 SCHED=2 IOD=2       (optional number of shared I/O devices for B=, default 1)
  *   A 3 J=1 M=50 S=0 R=14 P=2
+ *   A 3 J=1 M=50 S=0 R=14 P=2 D=40   (optional deadline, relative to arrival)
+ *   A 3 J=1 M=50 S=0 P=2 B=5,3,7 IO=0 (optional CPU,I/O,CPU,... bursts on I/O device IO; R = CPU total)
  *   D 16
  */
 public class InputParser {
@@ -17,24 +20,52 @@ public class InputParser {
         private final long time;
         private final Map<String, Long> fields;
         private final String raw;
+        private final long[] plan; // alternating CPU/I-O bursts from B=, or null
+        private final long processTime; // when the simulation handles it; == time unless delayed
 
         public External(Kind kind, long time, Map<String, Long> fields, String raw) {
+            this(kind, time, fields, raw, null);
+        }
+
+        public External(Kind kind, long time, Map<String, Long> fields, String raw, long[] plan) {
+            this(kind, time, fields, raw, plan, time);
+        }
+
+        private External(Kind kind, long time, Map<String, Long> fields, String raw, long[] plan, long processTime) {
             this.kind = kind;
             this.time = time;
             this.fields = fields;
             this.raw = raw;
+            this.plan = plan;
+            this.processTime = processTime;
+        }
+
+        /**
+         * The same command, handled at time t; its own timestamp (arrival time, deadline base) is kept.
+         */
+        public External delayedTo(long t) {
+            return new External(kind, time, fields, raw, plan, t);
         }
 
         public Kind kind() { return kind; }
         public long time() { return time; }
+        public long processTime() { return processTime; }
         public Map<String, Long> fields() { return fields; }
         public String raw() { return raw; }
+        public long[] plan() { return plan; }
 
         public long jobId() { return fields.getOrDefault("J", -1L); }
         public long mem() { return fields.getOrDefault("M", 0L); }
-        public long burst() { return fields.getOrDefault("R", 0L); }
+        public long burst() {
+            if (plan == null) return fields.getOrDefault("R", 0L);
+            long cpu = 0L;
+            for (int i = 0; i < plan.length; i += 2) cpu += plan[i];
+            return cpu;
+        }
         public int priority() { return fields.getOrDefault("P", 0L).intValue(); }
         public int devs() { return fields.getOrDefault("S", 0L).intValue(); }
+        public int ioDevice() { return fields.getOrDefault("IO", -1L).intValue(); } // -1 = by job ID
+        public Long deadline() { Long d = fields.get("D"); return d == null ? null : time + d; } // absolute, null = none
         public boolean isFinalDisplay() { return time >= 999999L; }
     }
 
@@ -55,19 +86,33 @@ public class InputParser {
             long t = parseLong(parts[1]);
 
             Map<String, Long> map = new HashMap<>();
+            long[] plan = null;
             for (int i = 2; i < parts.length; i++) {
                 String token = parts[i];
                 if (!token.contains("=")) continue;
                 String[] kv = token.split("=");
                 if (kv.length == 2) {
-                    map.put(kv[0], parseLong(kv[1]));
+                    if (kv[0].equals("B")) plan = parsePlan(kv[1]);
+                    else map.put(kv[0], parseLong(kv[1]));
                 }
             }
-            return new External(kind, t, map, line);
+            return new External(kind, t, map, line, plan);
         }
         return null;
     }
 
+    /**
+     * "c1,io1,c2,..." -> bursts; a trailing I/O burst (even count) is dropped.
+     */
+    private long[] parsePlan(String s) {
+        String[] items = s.split(",");
+        int n = items.length % 2 == 0 ? items.length - 1 : items.length;
+        if (n <= 0) return null;
+        long[] plan = new long[n];
+        for (int i = 0; i < n; i++) plan[i] = Math.max(0L, parseLong(items[i]));
+        return plan;
+    }
+
     private long parseLong(String s) {
         try {
             return Long.parseLong(s);
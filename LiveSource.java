@@ -0,0 +1,129 @@
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LiveSource: online mode. A reader thread parses C/A/D lines as they arrive
+ * (stdin pipe or local socket) and hands them to the event loop through a
+ * bounded queue, so a slow simulation back-pressures the producer.
+ *
+ * Clock modes:
+ *   EVENT - simulated time follows the timestamps on the lines; next() blocks for input.
+ *   WALL  - simulated time is wall time since start in ticks of tickMillis; the reader
+ *           stamps each command with the tick it was received at (before any wait for
+ *           queue space), and next() only waits until the next internal event is due.
+ *           A command received before an internal event the loop has already run keeps
+ *           its stamp but is handled at that event's time, so the clock never goes back.
+ */
+public class LiveSource implements ExternalSource {
+
+    public enum Clock { EVENT, WALL }
+
+    // End-of-input marker; never handed to the simulation.
+    private static final InputParser.External END =
+            new InputParser.External(InputParser.Kind.DISPLAY, Long.MAX_VALUE, new HashMap<>(), "");
+
+    private final BlockingQueue<InputParser.External> queue;
+    private final Clock clock;
+    private final long tickNanos;
+    private final Closeable input;
+    private final Thread reader;
+
+    private volatile IOException failure = null;
+    private boolean exhausted = false;
+    private long startNanos;
+    private long floor = 0L; // WALL: time the loop may have advanced to after next() returned null
+
+    public LiveSource(BufferedReader br, Closeable input, InputParser parser,
+                      int capacity, Clock clock, long tickMillis) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.clock = clock;
+        this.tickNanos = Math.max(1L, tickMillis) * 1_000_000L;
+        this.input = input;
+        this.reader = new Thread(() -> readLoop(br, parser), "sim-live-reader");
+        this.reader.setDaemon(true);
+    }
+
+    /**
+     * Start the reader thread; wall-clock time 0 is now.
+     */
+    public LiveSource start() {
+        startNanos = System.nanoTime();
+        reader.start();
+        return this;
+    }
+
+    private void readLoop(BufferedReader br, InputParser parser) {
+        try {
+            InputParser.External e;
+            while ((e = parser.readNextExternalOrNone(br)) != null) {
+                if (clock == Clock.WALL) {
+                    long tick = (System.nanoTime() - startNanos) / tickNanos;
+                    e = new InputParser.External(e.kind(), tick, e.fields(), e.raw(), e.plan());
+                }
+                queue.put(e);
+            }
+        } catch (IOException ex) {
+            failure = ex;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            queue.put(END);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public InputParser.External next(long until) throws IOException, InterruptedException {
+        if (exhausted) return null;
+
+        InputParser.External e;
+        long untilNanos = clock == Clock.EVENT ? Long.MAX_VALUE : toNanos(until);
+        if (untilNanos == Long.MAX_VALUE) {
+            e = queue.take();
+        } else {
+            long waitNanos = untilNanos - (System.nanoTime() - startNanos);
+            e = waitNanos > 0 ? queue.poll(waitNanos, TimeUnit.NANOSECONDS) : queue.poll();
+            if (e == null) {
+                floor = Math.max(floor, until);
+                return null; // internal event is due first
+            }
+        }
+
+        if (e == END) {
+            exhausted = true;
+            if (failure != null) throw failure;
+            return null;
+        }
+        if (e.time() < floor) e = e.delayedTo(floor);
+        return e;
+    }
+
+    /**
+     * Wall-clock offset of simulation time t, or Long.MAX_VALUE (no limit) if it does not fit.
+     */
+    private long toNanos(long t) {
+        if (t == Long.MAX_VALUE) return Long.MAX_VALUE;
+        try {
+            return Math.multiplyExact(t, tickNanos);
+        } catch (ArithmeticException ex) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    @Override
+    public boolean exhausted() { return exhausted; }
+
+    @Override
+    public void close() throws IOException {
+        reader.interrupt();
+        input.close();
+    }
+}
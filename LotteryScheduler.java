@@ -0,0 +1,135 @@
+import java.util.*;
+
+/**
+ * Lottery scheduling: proportional share by Process.tickets().
+ * Each ready job owns a slot in a Fenwick (binary indexed) tree of ticket counts;
+ * drawing a ticket is a prefix-sum descent, so enqueue/selection are O(log n).
+ * Freed slots are reused; the tree doubles (rebuilt in O(n)) when full.
+ */
+public class LotteryScheduler implements Scheduler, ReadyOrder {
+    private static final int MIN_CAPACITY = 16;
+
+    private final long fixedQuantum;
+    private final Random random;
+
+    private Process[] slots = new Process[MIN_CAPACITY];
+    private long[] tree = new long[MIN_CAPACITY + 1]; // 1-based Fenwick tree over slot tickets
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+    private int used = 0;      // slots handed out so far (high-water mark)
+    private int size = 0;
+    private long totalTickets = 0L;
+
+    public LotteryScheduler(long fixedQuantum, long seed) {
+        this.fixedQuantum = fixedQuantum;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public Optional<Process> selectNextProcess(ReadyQueue rq) {
+        return rq.dequeue();
+    }
+
+    @Override
+    public long timeQuantumFor(Process candidate, ReadyQueue rq) {
+        return fixedQuantum;
+    }
+
+    @Override
+    public ReadyOrder readyOrder() { return this; }
+
+    // ----------------------------------------------------------------------
+    // ReadyOrder
+    // ----------------------------------------------------------------------
+
+    @Override
+    public void add(Process p) {
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+        } else {
+            if (used == slots.length) grow();
+            slot = used++;
+        }
+        slots[slot] = p;
+        long t = Math.max(1L, p.tickets());
+        update(slot, t);
+        totalTickets += t;
+        size++;
+    }
+
+    @Override
+    public Optional<Process> poll() {
+        if (size == 0) return Optional.empty();
+        long ticket = (long) (random.nextDouble() * totalTickets);
+        int slot = find(ticket);
+        Process p = slots[slot];
+        long t = Math.max(1L, p.tickets());
+        update(slot, -t);
+        totalTickets -= t;
+        slots[slot] = null;
+        freeSlots.push(slot);
+        size--;
+        return Optional.of(p);
+    }
+
+    @Override
+    public int size() { return size; }
+
+    /**
+     * Ready jobs in slot order. A draw has no fixed order, so this order is unspecified.
+     * O(slots); only used for display.
+     */
+    @Override
+    public List<Process> snapshot() {
+        List<Process> out = new ArrayList<>(size);
+        for (int i = 0; i < used; i++) {
+            if (slots[i] != null) out.add(slots[i]);
+        }
+        return Collections.unmodifiableList(out);
+    }
+
+    @Override
+    public void clear() {
+        slots = new Process[MIN_CAPACITY];
+        tree = new long[MIN_CAPACITY + 1];
+        freeSlots.clear();
+        used = 0;
+        size = 0;
+        totalTickets = 0L;
+    }
+
+    // ----------------------------------------------------------------------
+    // Fenwick tree helpers
+    // ----------------------------------------------------------------------
+
+    private void update(int slot, long delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) tree[i] += delta;
+    }
+
+    /**
+     * Slot whose ticket range contains ticket (0 <= ticket < totalTickets).
+     */
+    private int find(long ticket) {
+        int pos = 0;
+        for (int step = Integer.highestOneBit(tree.length - 1); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next < tree.length && tree[next] <= ticket) {
+                pos = next;
+                ticket -= tree[next];
+            }
+        }
+        return pos; // 1-based prefix end => 0-based slot
+    }
+
+    private void grow() {
+        slots = Arrays.copyOf(slots, slots.length * 2);
+        tree = new long[slots.length + 1];
+        for (int i = 0; i < used; i++) {
+            if (slots[i] != null) tree[i + 1] += Math.max(1L, slots[i].tickets());
+        }
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) tree[parent] += tree[i];
+        }
+    }
+}
@@ -1,18 +1,24 @@
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 /**
- * Entry point: runs the simulation using the fixed input path and output file.
+ * Entry point: runs the simulation using the fixed input path and output file,
+ * or args[0] / args[1] when given. See BatchMain for many traces in one JVM.
  */
 public class Main {
-    // Adjust if you want to pass via args.
 
     private static final String INPUT_PATH = "inputSRR.txt";
-    private static final String OUTPUT_PATH = "system_outputs\\outputSRR.txt";
+    private static final Path OUTPUT_PATH = Path.of("system_outputs", "outputSRR.txt");
 
     public static void main(String[] args) {
         try {
-            SimulationController controller = new SimulationController();
-                controller.main(new String[]{INPUT_PATH, OUTPUT_PATH});
-            }
+            String input = args.length > 0 ? args[0] : INPUT_PATH;
+            Path output = args.length > 1 ? Path.of(args[1]) : OUTPUT_PATH;
+            if (output.getParent() != null) Files.createDirectories(output.getParent());
 
+            SimulationController controller = new SimulationController();
+            controller.main(new String[]{input, output.toString()});
+        }
         catch (Exception e) {
             e.printStackTrace();
         }
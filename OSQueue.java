@@ -2,21 +2,113 @@ import java.util.*;
 
 /**
  * Base FIFO queue abstraction.
+ * Backed by an append-only array window [head, tail): enqueue only writes past
+ * tail and dequeue only moves head, so a snapshot is an O(1) immutable view of
+ * the current window. When the array fills, the live window is copied into a
+ * fresh array (never compacted in place), so views handed out earlier stay valid.
+ * remove() only marks a job; marked jobs are skipped when they reach the head and
+ * dropped by the next copy (grow, or a snapshot taken while any are pending).
  */
 public abstract class OSQueue {
-    protected final Deque<Process> dq = new ArrayDeque<>();
+    private static final int MIN_CAPACITY = 16;
 
-    public void enqueue(Process p) { dq.addLast(p); }
+    private Process[] items = new Process[MIN_CAPACITY];
+    private int head = 0;
+    private int tail = 0;
+
+    // Jobs removed from the middle of [head, tail) but still in the array
+    private final Set<Process> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    public void enqueue(Process p) {
+        if (tail == items.length) grow();
+        items[tail++] = p;
+    }
 
     public Optional<Process> dequeue() {
-        return Optional.ofNullable(dq.pollFirst());
+        skipRemoved();
+        if (head == tail) return Optional.empty();
+        return Optional.of(items[head++]);
+    }
+
+    protected Process peekFirst() {
+        skipRemoved();
+        return head == tail ? null : items[head];
+    }
+
+    /**
+     * Remove one queued job from anywhere in the queue, keeping FIFO order of the rest.
+     * O(1): the slot is only marked here. The caller must know p is queued.
+     */
+    protected void remove(Process p) {
+        removed.add(p);
+    }
+
+    public boolean isEmpty() { return size() == 0; }
+
+    public List<Process> snapshot() {
+        if (!removed.isEmpty()) copyLive(tail - head);
+        return new View(items, head, tail);
     }
 
-    public boolean isEmpty() { return dq.isEmpty(); }
+    public int size() { return tail - head - removed.size(); }
 
-    public List<Process> snapshot() { return List.copyOf(dq); }
+    public void clear() {
+        // Fresh array: outstanding snapshots keep the old one.
+        items = new Process[MIN_CAPACITY];
+        head = 0;
+        tail = 0;
+        removed.clear();
+    }
+
+    private void skipRemoved() {
+        while (head < tail && !removed.isEmpty() && removed.remove(items[head])) head++;
+    }
+
+    private void grow() {
+        copyLive(Math.max(MIN_CAPACITY, (tail - head) * 2));
+    }
 
-    public int size() { return dq.size(); }
+    /**
+     * Copy the unremoved part of the window into a fresh array of the given capacity.
+     */
+    private void copyLive(int capacity) {
+        Process[] next = new Process[Math.max(MIN_CAPACITY, capacity)];
+        int n = 0;
+        if (removed.isEmpty()) {
+            n = tail - head;
+            System.arraycopy(items, head, next, 0, n);
+        } else {
+            for (int i = head; i < tail; i++) {
+                if (!removed.contains(items[i])) next[n++] = items[i];
+            }
+            removed.clear();
+        }
+        items = next;
+        head = 0;
+        tail = n;
+    }
+
+    /**
+     * Immutable view over a window of a backing array whose slots are never rewritten.
+     */
+    private static final class View extends AbstractList<Process> implements RandomAccess {
+        private final Process[] items;
+        private final int from;
+        private final int to;
+
+        View(Process[] items, int from, int to) {
+            this.items = items;
+            this.from = from;
+            this.to = to;
+        }
 
-    public void clear() { dq.clear(); }
+        @Override
+        public Process get(int index) {
+            Objects.checkIndex(index, to - from);
+            return items[from + index];
+        }
+
+        @Override
+        public int size() { return to - from; }
+    }
 }
\ No newline at end of file
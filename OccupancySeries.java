@@ -0,0 +1,106 @@
+import java.io.PrintWriter;
+
+/**
+ * OccupancySeries: time-weighted averages of queue lengths, CPU busy time and
+ * memory/device occupancy, written as fixed-interval CSV windows.
+ *
+ * PrManager calls advanceTo(now, ...) at the start of every event with the levels
+ * that held since the previous event, so each call integrates one constant segment.
+ * Only the running window's integrals are kept, so memory is constant in run length.
+ * Every window gets its own row, including those inside a gap with no events
+ * (so output is proportional to simulated time / interval).
+ *
+ * CSV columns: run,start,end,ready,hq1,hq2,cpu,mem,devs (averages over [start,end)).
+ */
+public class OccupancySeries {
+    private final PrintWriter out;
+    private final long interval;
+
+    private int run = -1;        // index of the current CONFIG block; -1 until the first one
+    private long windowStart = 0L;
+    private long last = 0L;      // time the integrals below cover up to
+
+    private long readyArea, hq1Area, hq2Area, busyArea, memArea, devArea;
+
+    public OccupancySeries(PrintWriter out, long interval) {
+        this.out = out;
+        this.interval = Math.max(1L, interval);
+        out.println("run,start,end,ready,hq1,hq2,cpu,mem,devs");
+    }
+
+    /**
+     * Integrate the given levels over [last, now), emitting every window that closes.
+     */
+    public void advanceTo(long now, int ready, int hq1, int hq2, boolean busy, long usedMem, int usedDevs) {
+        if (run < 0 || now <= last) return;
+        int cpu = busy ? 1 : 0;
+
+        // Finish the partially filled window first.
+        if (last > windowStart) {
+            long end = Math.min(now, windowStart + interval);
+            accumulate(end - last, ready, hq1, hq2, cpu, usedMem, usedDevs);
+            last = end;
+            if (end < windowStart + interval) return;
+            emitAreas(windowStart, end);
+            windowStart = end;
+        }
+
+        // Whole windows at a constant level.
+        while (now - windowStart >= interval) {
+            long end = windowStart + interval;
+            accumulate(interval, ready, hq1, hq2, cpu, usedMem, usedDevs);
+            emitAreas(windowStart, end);
+            windowStart = end;
+        }
+
+        accumulate(now - windowStart, ready, hq1, hq2, cpu, usedMem, usedDevs);
+        last = now;
+    }
+
+    /**
+     * Close the current run (writing any partial window) and start a new one at now.
+     */
+    public void restart(long now) {
+        flushPartial();
+        run++;
+        windowStart = now;
+        last = now;
+    }
+
+    /**
+     * Write any partial window and flush the stream.
+     */
+    public void close() {
+        flushPartial();
+        out.flush();
+    }
+
+    private void flushPartial() {
+        if (run >= 0 && last > windowStart) {
+            emitAreas(windowStart, last);
+        }
+        windowStart = last;
+        clearAreas();
+    }
+
+    private void accumulate(long dt, int ready, int hq1, int hq2, int cpu, long usedMem, int usedDevs) {
+        readyArea += ready * dt;
+        hq1Area += hq1 * dt;
+        hq2Area += hq2 * dt;
+        busyArea += cpu * dt;
+        memArea += usedMem * dt;
+        devArea += usedDevs * dt;
+    }
+
+    private void emitAreas(long start, long end) {
+        double span = end - start;
+        out.printf("%d,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n", run, start, end,
+                readyArea / span, hq1Area / span, hq2Area / span,
+                busyArea / span, memArea / span, devArea / span);
+        clearAreas();
+    }
+
+    private void clearAreas() {
+        readyArea = hq1Area = hq2Area = busyArea = memArea = devArea = 0L;
+    }
+}
@@ -1,3 +1,7 @@
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 
@@ -20,91 +24,162 @@ public class PrManager {
     // Other kernel services (memory, devices, etc.)
     private final OtherKerServices otherKerServices = new OtherKerServices();
 
+    // Completed jobs of the current CONFIG block
+    private final FinishedRecorder finished = new FinishedRecorder();
+
+    // Per-device I/O wait queues and CPU/I-O overlap accounting
+    private final DeviceManager devices = new DeviceManager();
+
+    // Live counters (JFR / JMX / periodic stats line)
+    private final SimulationStats stats = new SimulationStats();
+
+    // HQ2 admission: FIFO head only (default) or EASY backfilling (C line BF=1)
+    private final BackfillAdmission backfill = new BackfillAdmission();
+
+    // Optional time-weighted occupancy CSV (null = off)
+    private OccupancySeries series = null;
+
     // Scheduler:
     //  - DRoundRobinScheduler for Dynamic RR (quantum computed here in PrManager)
     //  - SRoundRobinScheduler for Static RR (Q = 10 + teamNumber)
+    //  - StrideScheduler / LotteryScheduler for proportional share by Process.tickets()
+    //  - EdfScheduler for earliest deadline first (A line D= field)
+    //  - AdaptiveRoundRobinScheduler for a feedback-tuned quantum (optional LAT= latency target)
     private Scheduler scheduler = new SRoundRobinScheduler(10 + 7); // default: team 7 → Q = 17
 
     // State of the currently running process
     private Process running = null;
-    private Long nextInternalTime = null; // time of next internal event (slice end or completion); null = "infinity"
+
+    // Internal events (slice ends, deadlines); the earliest one is the next internal event time
+    private final TimingWheel timers = new TimingWheel(0L);
+    private final Map<Process, TimingWheel.Timer> deadlineTimers = new HashMap<>();
+    private final List<Process> expiredDeadlines = new ArrayList<>();
+    private long deadlineJobs = 0L;
+    private long deadlineMisses = 0L;
 
     // Last quantum used for the currently running process (for debugging if needed)
     private long quantumTime;
 
     /**
      * Handle internal events when the simulation clock reaches an internal event time:
-     *  - either the current slice ends
-     *  - or the running process finishes.
+     *  - the current slice ends (the running process finishes, blocks for I/O or is preempted)
+     *  - an I/O burst completes
+     *  - and/or a job's deadline passes.
      */
     public void handleInternalAt(long now) {
+        integrateUntil(now);
         internalClock = now;
 
-        if (running == null) {
-            return; // nothing to do; no process is currently on CPU
-        }
-
-        Long sliceEnd = running.sliceEndsAt();
-        if (sliceEnd != null && sliceEnd == now) {
-            long ran = now - (running.sliceStart() == null ? now : running.sliceStart());
-            long remaining = running.remainingBurst();
+        timers.advanceTo(now);
 
-            // If the slice consumed all remaining burst time, the job is done.
-            if (remaining - ran <= 0) {
-                completeRunning(now);
-            } else {
-                // Otherwise, its quantum expired and it must be preempted.
-                preemptRunning(now);
+        // Deadlines are judged after every timer due now has run, so a job that
+        // completes exactly at its deadline is not counted as a miss.
+        for (Process p : expiredDeadlines) {
+            if (p.state() != ProcessState.FINISHED) {
+                p.markDeadlineMissed();
+                deadlineMisses++;
             }
         }
+        expiredDeadlines.clear();
 
         // After resolving the internal event, try to admit new jobs and dispatch again.
         admitFromHoldQueues();
         dispatchIfIdle(now);
     }
 
+    /**
+     * Slice-end timer for the running process.
+     */
+    private void onSliceEnd(long now) {
+        if (running == null) return;
+
+        long ran = now - (running.sliceStart() == null ? now : running.sliceStart());
+        long remaining = running.remainingBurst();
+
+        // If the slice consumed all remaining burst time, the job is done.
+        if (remaining - ran <= 0) {
+            completeRunning(now);
+        } else if (running.burstLeft() - ran <= 0) {
+            // End of a CPU burst with I/O to follow: leave the CPU.
+            blockRunning(now);
+        } else {
+            // Otherwise, its quantum expired and it must be preempted.
+            preemptRunning(now);
+        }
+    }
+
+    /**
+     * Deadline timer for a job that has not finished yet.
+     */
+    private void onDeadline(Process p) {
+        deadlineTimers.remove(p);
+        expiredDeadlines.add(p);
+    }
+
     /**
      * Handle CONFIG command: reset the system and choose the scheduler.
      */
     public void onConfig(InputParser.External cfg, long now) {
+        integrateUntil(now);
         internalClock = now;
 
         long mem   = cfg.fields().getOrDefault("M", 0L);
         int  devs  = cfg.fields().getOrDefault("S", 0L).intValue();
+        int  ioDevs = cfg.fields().getOrDefault("IOD", 1L).intValue();
         int  sched = cfg.fields().getOrDefault("SCHED", 2L).intValue();
 
         otherKerServices.configure(mem, devs);
         clearAllQueuesAndRunning();
-        FinishedRecorder.clear();
+        backfill.configure(cfg.fields().getOrDefault("BF", 0L) == 1L);
+        devices.configure(ioDevs, now);
+        finished.clear();
 
         // Select the scheduler based on SCHED field
         switch (sched) {
             case 1 -> scheduler = new DRoundRobinScheduler();        // Dynamic RR (quantum computed in PrManager)
             case 2 -> scheduler = new SRoundRobinScheduler(10 + 7);  // Static RR, team 7 → Q = 17
+            case 3 -> scheduler = new StrideScheduler(10 + 7);       // proportional share by priority, min-heap on pass
+            case 4 -> scheduler = new LotteryScheduler(10 + 7,       // proportional share by priority, Fenwick tree draw
+                    cfg.fields().getOrDefault("SEED", 7L));
+            case 5 -> scheduler = new EdfScheduler(10 + 7);          // earliest deadline first
+            case 6 -> scheduler = new AdaptiveRoundRobinScheduler(10 + 7,  // starts at Q = 17, then self-tunes
+                    cfg.fields().getOrDefault("LAT", 0L));
             default -> scheduler = new SRoundRobinScheduler(10 + 7);
         }
+        readyQ.useOrder(scheduler.readyOrder());
 
         // Reset SR/AR whenever we reconfigure
         SR = 0L;
         AR = 0L;
+
+        if (series != null) series.restart(now);
     }
 
     /**
      * Handle external arrival of a new job.
      */
     public void onArrival(InputParser.External arr, long now) {
+        integrateUntil(now);
         internalClock = now;
         Process p = Process.fromArrival(arr);
+        stats.onArrival(p, now, readyQ.size());
 
-        // Reject jobs that exceed total system resources
-        if (otherKerServices.exceedsTotals(p)) {
+        // Reject jobs that exceed total system resources or name an I/O device that does not exist
+        if (otherKerServices.exceedsTotals(p) || !devices.accepts(p)) {
             p.markRejected();
+            stats.onRejection(p, now, readyQ.size());
             return;
         }
 
+        if (p.deadline() != null) {
+            deadlineJobs++;
+            deadlineTimers.put(p, timers.schedule(p.deadline(), t -> onDeadline(p)));
+        }
+
         // If resources are available, admit directly to Ready; otherwise hold.
         if (otherKerServices.availableFor(p)) {
             otherKerServices.allocateFor(p);
+            backfill.hold(p);
             p.markReady();
             readyQ.enqueue(p);
 
@@ -131,7 +206,7 @@ public class PrManager {
      * Next internal decision time for the simulation driver.
      */
     public long getNextDecisionTime() {
-        return nextInternalTime == null ? Long.MAX_VALUE : nextInternalTime;
+        return timers.nextExpiry();
     }
 
     /**
@@ -142,7 +217,22 @@ public class PrManager {
     }
 
     public Long nextInternalTimeOrNull() {
-        return nextInternalTime;
+        long next = timers.nextExpiry();
+        return next == Long.MAX_VALUE ? null : next;
+    }
+
+    /**
+     * Start writing time-weighted occupancy windows to the given series.
+     */
+    public void recordSeries(OccupancySeries s) {
+        this.series = s;
+    }
+
+    /**
+     * Flush the last partial occupancy window, if a series is attached.
+     */
+    public void closeSeries() {
+        if (series != null) series.close();
     }
 
     // ----------------------------------------------------------------------
@@ -161,11 +251,11 @@ public class PrManager {
         Optional<Process> next = scheduler.selectNextProcess(readyQ);
 
         if (next.isEmpty()) {
-            // No ready processes; no internal event scheduled.
-            nextInternalTime = null;
+            // No ready processes; no slice-end event scheduled.
             return;
         }
         running = next.get();
+        stats.onDispatch(running, now, readyQ.size());
 
         if (scheduler instanceof DRoundRobinScheduler) {
             // Dynamic RR: compute quantum here
@@ -199,7 +289,19 @@ public class PrManager {
         }
 
         running.startSliceAt(now, quantumTime);
-        nextInternalTime = running.sliceEndsAt();
+        timers.schedule(running.sliceEndsAt(), this::onSliceEnd);
+    }
+
+    /**
+     * Integrate the levels that held since the previous event up to now
+     * (device/overlap accounting, and the occupancy series if attached).
+     */
+    private void integrateUntil(long now) {
+        devices.advanceTo(now, running != null);
+        if (series == null) return;
+        series.advanceTo(now, readyQ.size(), hq1.size(), hq2.size(), running != null,
+                otherKerServices.memorySize() - otherKerServices.availMem(),
+                otherKerServices.noDevs() - otherKerServices.availDevs());
     }
 
     /**
@@ -235,10 +337,12 @@ public class PrManager {
      */
     private void completeRunning(long now) {
         otherKerServices.releaseFor(running);
+        backfill.release(running);
         running.markCompletedAt(now);
-        FinishedRecorder.record(running);
+        finished.record(running);
+        stats.onCompletion(running, now, readyQ.size());
+        timers.cancel(deadlineTimers.remove(running));
         running = null;
-        nextInternalTime = null;
 
         // DRR rule: after CPU finishes a job, update SR and AR.
         if (scheduler instanceof DRoundRobinScheduler) {
@@ -251,9 +355,10 @@ public class PrManager {
      */
     private void preemptRunning(long now) {
         running.endSliceAt(now);
+        backfill.reposition(running);
         readyQ.enqueue(running);
+        stats.onPreemption(running, now, readyQ.size());
         running = null;
-        nextInternalTime = null;
 
         // DRR: update SR/AR after Ready changes
         if (scheduler instanceof DRoundRobinScheduler) {
@@ -261,9 +366,44 @@ public class PrManager {
         }
     }
 
+    /**
+     * Move the running process off the CPU into its device's wait queue.
+     */
+    private void blockRunning(long now) {
+        Process p = running;
+        p.blockForIoAt(now);
+        backfill.reposition(p);
+        running = null;
+        startIo(devices.request(p, now), now);
+    }
+
+    /**
+     * Schedule the I/O completion for a job that just started service (no-op for null).
+     */
+    private void startIo(Process p, long now) {
+        if (p == null) return;
+        int dev = devices.deviceFor(p);
+        timers.schedule(now + p.ioBurst(), t -> onIoComplete(dev, t));
+    }
+
+    /**
+     * I/O-completion timer: the job returns to Ready and the device takes its next waiter.
+     */
+    private void onIoComplete(int dev, long now) {
+        Process p = devices.finish(dev, now);
+        p.finishIoAt(now);
+        readyQ.enqueue(p);
+
+        if (scheduler instanceof DRoundRobinScheduler) {
+            updateSRandAR();
+        }
+
+        startIo(devices.startNext(dev, now), now);
+    }
+
     /**
      * Admit processes from hold queues into Ready when resources become available.
-     * For DRR, every admission into Ready must refresh SR and AR.
+     * With backfilling on, a blocked HQ2 head no longer stops smaller HQ2 jobs behind it.
      */
     private void admitFromHoldQueues() {
         boolean admitted = true;
@@ -273,32 +413,46 @@ public class PrManager {
             Process p = hq1.peekIfAdmissible(otherKerServices);
             if (p != null) {
                 hq1.remove(p);
-                otherKerServices.allocateFor(p);
-                p.markReady();
-                readyQ.enqueue(p);
+                admitToReady(p);
                 admitted = true;
-
-                if (scheduler instanceof DRoundRobinScheduler) {
-                    updateSRandAR();
-                }
                 continue;
             }
 
             Process q = hq2.peekIfAdmissible(otherKerServices);
             if (q != null) {
                 hq2.dequeue();
-                otherKerServices.allocateFor(q);
-                q.markReady();
-                readyQ.enqueue(q);
+                admitToReady(q);
                 admitted = true;
+                continue;
+            }
 
-                if (scheduler instanceof DRoundRobinScheduler) {
-                    updateSRandAR();
+            if (backfill.enabled()) {
+                Process b = backfill.select(hq2, otherKerServices);
+                if (b != null) {
+                    hq2.remove(b);
+                    admitToReady(b);
+                    admitted = true;
                 }
             }
         }
     }
 
+    /**
+     * Allocate resources for a held job and move it to Ready.
+     * For DRR, every admission into Ready must refresh SR and AR.
+     */
+    private void admitToReady(Process p) {
+        otherKerServices.allocateFor(p);
+        backfill.hold(p);
+        p.markReady();
+        readyQ.enqueue(p);
+        stats.onAdmission(p, internalClock, readyQ.size());
+
+        if (scheduler instanceof DRoundRobinScheduler) {
+            updateSRandAR();
+        }
+    }
+
     /**
      * Reset all queues and the currently running process.
      */
@@ -308,7 +462,11 @@ public class PrManager {
         hq2.clear();
         readyQ.clear();
         running = null;
-        nextInternalTime = null;
+        timers.clear(internalClock);
+        deadlineTimers.clear();
+        expiredDeadlines.clear();
+        deadlineJobs = 0L;
+        deadlineMisses = 0L;
         SR = 0L;
         AR = 0L;
     }
@@ -322,9 +480,17 @@ public class PrManager {
     public HoldQueue2 hq2()      { return hq2; }
     public ReadyQueue readyQ()   { return readyQ; }
     public OtherKerServices services() { return otherKerServices; }
+    public DeviceManager devices() { return devices; }
+    public FinishedRecorder finished() { return finished; }
     public Process running()     { return running; }
+    public Scheduler scheduler() { return scheduler; }
+    public SimulationStats stats() { return stats; }
 
     // Helpful getters if you want to print SR/AR for DRR debugging
     public long getSR() { return SR; }
     public long getAR() { return AR; }
+
+    // Deadline accounting for the current CONFIG block
+    public long deadlineJobs()   { return deadlineJobs; }
+    public long deadlineMisses() { return deadlineMisses; }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@
  * Process (PCB) keeping arrival time, burst times, resources, priority, and statistics.
  */
 public class Process {
+    private static final long TICKET_BASE = 100L;
+
     private final long pid;
     private final long arrivalTime;
     private final long burstTime;
@@ -10,6 +12,17 @@ public class Process {
     private final int priority;
     private final long memoryReq;
     private final int devReq;
+    private Long deadline = null; // absolute; null = no deadline
+    private boolean deadlineMissed = false;
+
+    // Optional CPU/I-O burst plan: plan[even] = CPU, plan[odd] = I/O; null = one CPU burst
+    private long[] plan = null;
+    private int phase = 0;
+    private long burstLeft;          // CPU left in the current burst (== remaining without a plan)
+    private int ioDevice = -1;       // requested device, -1 = chosen by job ID
+    private Long ioQueuedAt = null;
+    private long ioWait = 0L;        // time queued behind other jobs at a device
+    private long ioTime = 0L;        // time in I/O service
 
     private ProcessState state = ProcessState.NEW;
 
@@ -18,7 +31,7 @@ public class Process {
     private Long completionTime = null;
 
     public static Process fromArrival(InputParser.External a) {
-        return new Process(
+        Process p = new Process(
                 a.jobId(),
                 a.time(),
                 a.burst(),
@@ -26,6 +39,13 @@ public class Process {
                 a.mem(),
                 a.devs()
         );
+        p.deadline = a.deadline();
+        p.ioDevice = a.ioDevice();
+        if (a.plan() != null && a.plan().length > 1) {
+            p.plan = a.plan();
+            p.burstLeft = p.plan[0];
+        }
+        return p;
     }
 
     public Process(long pid, long arrival, long burst, int prio, long mem, int devs) {
@@ -33,6 +53,7 @@ public class Process {
         this.arrivalTime = arrival;
         this.burstTime = burst;
         this.remaining = burst;
+        this.burstLeft = burst;
         this.priority = prio;
         this.memoryReq = mem;
         this.devReq = devs;
@@ -41,7 +62,7 @@ public class Process {
     // Slice handling
     public void startSliceAt(long now, long quantum) {
         sliceStart = now;
-        long run = Math.min(remaining, quantum);
+        long run = Math.min(burstLeft, quantum);
         sliceEndsAt = now + run;
         state = ProcessState.RUNNING;
     }
@@ -50,6 +71,7 @@ public class Process {
         if (sliceStart != null) {
             long ran = now - sliceStart;
             remaining = Math.max(0, remaining - ran);
+            burstLeft = Math.max(0, burstLeft - ran);
         }
         sliceStart = null;
         sliceEndsAt = null;
@@ -63,17 +85,50 @@ public class Process {
 
     public void markCompletedAt(long now) {
         remaining = 0;
+        burstLeft = 0;
         completionTime = now;
         state = ProcessState.FINISHED;
         sliceStart = null;
         sliceEndsAt = now;
     }
 
+    // I/O handling
+    /**
+     * Leave the CPU at the end of a CPU burst and queue for the next I/O burst.
+     */
+    public void blockForIoAt(long now) {
+        endSliceAt(now);
+        phase++;
+        ioQueuedAt = now;
+        state = ProcessState.BLOCKED;
+    }
+
+    /**
+     * I/O service starts; returns how long this burst queued for its device.
+     */
+    public long startIoAt(long now) {
+        long waited = ioQueuedAt == null ? 0L : now - ioQueuedAt;
+        ioWait += waited;
+        ioQueuedAt = null;
+        return waited;
+    }
+
+    /**
+     * I/O burst done: move on to the next CPU burst.
+     */
+    public void finishIoAt(long now) {
+        ioTime += plan[phase];
+        phase++;
+        burstLeft = plan[phase];
+        state = ProcessState.READY;
+    }
+
     // State transitions for queues
     public void markReady() { state = ProcessState.READY; }
     public void markHold1() { state = ProcessState.HOLD1; }
     public void markHold2() { state = ProcessState.HOLD2; }
     public void markRejected() { state = ProcessState.REJECTED; }
+    public void markDeadlineMissed() { deadlineMissed = true; }
 
     // Getters
     public long pid() { return pid; }
@@ -81,19 +136,29 @@ public class Process {
     public long burstTime() { return burstTime; }
     public long remainingBurst() { return remaining; }
     public int priority() { return priority; }
+    public long tickets() { return TICKET_BASE / Math.max(1, priority); } // proportional share: P=1 gets twice P=2
     public long memoryReq() { return memoryReq; }
     public int devReq() { return devReq; }
     public ProcessState state() { return state; }
     public Long sliceEndsAt() { return sliceEndsAt; }
     public Long sliceStart() { return sliceStart; }
     public Long completionTime() { return completionTime; }
+    public Long deadline() { return deadline; }
+    public boolean deadlineMissed() { return deadlineMissed; }
+    public boolean hasIo() { return plan != null; }
+    public long burstLeft() { return burstLeft; }
+    public long ioBurst() { return plan[phase]; }
+    public int ioDevice() { return ioDevice; }
+    public long ioWait() { return ioWait; }
+    public long ioTime() { return ioTime; }
 
     // Metrics
     public long turnaroundTime() {
         return completionTime == null ? 0 : (completionTime - arrivalTime);
     }
 
+    // Time spent in Ready (excludes CPU, I/O service and device queueing)
     public long waitingTime() {
-        return turnaroundTime() - burstTime;
+        return turnaroundTime() - burstTime - ioTime - ioWait;
     }
 }
\ No newline at end of file
@@ -2,5 +2,5 @@
  * Process lifecycle states.
  */
 public enum ProcessState {
-    NEW, HOLD1, HOLD2, READY, RUNNING, FINISHED, REJECTED
+    NEW, HOLD1, HOLD2, READY, RUNNING, BLOCKED, FINISHED, REJECTED
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * ReaderSource: synchronous source over a finished trace (the original file mode).
+ * Never waits, so {@code until} is ignored.
+ */
+public class ReaderSource implements ExternalSource {
+    private final BufferedReader br;
+    private final InputParser parser;
+    private boolean exhausted = false;
+
+    public ReaderSource(BufferedReader br, InputParser parser) {
+        this.br = br;
+        this.parser = parser;
+    }
+
+    @Override
+    public InputParser.External next(long until) throws IOException {
+        if (exhausted) return null;
+        InputParser.External e = parser.readNextExternalOrNone(br);
+        if (e == null) exhausted = true;
+        return e;
+    }
+
+    @Override
+    public boolean exhausted() { return exhausted; }
+
+    @Override
+    public void close() throws IOException { br.close(); }
+}
@@ -0,0 +1,16 @@
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * ReadyOrder: alternative ordering for the Ready queue, supplied by schedulers that
+ * do not pick in FIFO order (see Scheduler.readyOrder()).
+ * Unlike the FIFO's O(1) view, snapshot() builds a copy (in selection order where the
+ * order has one), so it is meant for system snapshots, not per-event use.
+ */
+public interface ReadyOrder {
+    void add(Process p);
+    Optional<Process> poll();
+    int size();
+    List<Process> snapshot();
+    void clear();
+}
@@ -1,6 +1,48 @@
+import java.util.List;
+import java.util.Optional;
+
 /**
- * ReadyQueue: FIFO used by Scheduler.
+ * ReadyQueue: FIFO used by Scheduler, unless the active scheduler installs its own ReadyOrder.
  */
 public class ReadyQueue extends OSQueue {
-    // Additional logic can be added if needed (e.g., fairness metrics).
+    private ReadyOrder order = null; // null = plain FIFO
+
+    /**
+     * Switch ordering (null restores FIFO). Only called on an empty queue, at CONFIG.
+     */
+    public void useOrder(ReadyOrder order) {
+        this.order = order;
+    }
+
+    @Override
+    public void enqueue(Process p) {
+        if (order == null) super.enqueue(p);
+        else order.add(p);
+    }
+
+    @Override
+    public Optional<Process> dequeue() {
+        return order == null ? super.dequeue() : order.poll();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return order == null ? super.isEmpty() : order.size() == 0;
+    }
+
+    @Override
+    public List<Process> snapshot() {
+        return order == null ? super.snapshot() : order.snapshot();
+    }
+
+    @Override
+    public int size() {
+        return order == null ? super.size() : order.size();
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        if (order != null) order.clear();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,101 @@
+import java.io.IOException;
+import java.util.PriorityQueue;
+
+/**
+ * ReorderingSource: bounded reorder buffer for traces whose timestamps are slightly
+ * out of order (e.g. merged from several submit nodes).
+ *
+ * Holds up to window + 1 commands in a min-heap on (time, arrival sequence) and
+ * releases the earliest, so memory is constant. A command still earlier than the last
+ * one released fell outside the window: it is counted and handled at the last released
+ * time instead of moving the clock backwards, keeping its own timestamp (so a late job's
+ * arrival time and deadline are unchanged). CONFIG lines are barriers:
+ * the buffer drains before a CONFIG is released, since a new block restarts time
+ * (the CONFIG's own timestamp is not used for ordering).
+ * With window 0 nothing is reordered, but late commands are still delayed and counted.
+ * When a live source has nothing more before {@code until}, buffered commands due by
+ * then are released anyway, so internal events never run past them.
+ */
+public class ReorderingSource implements ExternalSource {
+
+    private static final class Entry implements Comparable<Entry> {
+        final InputParser.External e;
+        final long seq;
+
+        Entry(InputParser.External e, long seq) {
+            this.e = e;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            int c = Long.compare(e.time(), o.e.time());
+            return c != 0 ? c : Long.compare(seq, o.seq);
+        }
+    }
+
+    private final ExternalSource upstream;
+    private final int window;
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>();
+
+    private InputParser.External barrier = null; // CONFIG waiting for the buffer to drain
+    private long seq = 0L;
+    private long released = Long.MIN_VALUE;      // time of the last command handed out
+    private long maxSeen = Long.MIN_VALUE;       // latest timestamp read in this block
+
+    private long outOfOrder = 0L;
+    private long late = 0L;
+
+    public ReorderingSource(ExternalSource upstream, int window) {
+        this.upstream = upstream;
+        this.window = Math.max(0, window);
+    }
+
+    @Override
+    public InputParser.External next(long until) throws IOException, InterruptedException {
+        while (barrier == null && heap.size() <= window && !upstream.exhausted()) {
+            InputParser.External e = upstream.next(until);
+            if (e == null) {
+                if (upstream.exhausted()) break;
+                if (!heap.isEmpty() && heap.peek().e.time() <= until) break;
+                return null; // live source with nothing more before 'until'
+            }
+            if (e.kind() == InputParser.Kind.CONFIG) {
+                barrier = e;
+                break;
+            }
+            if (e.time() < maxSeen) outOfOrder++;
+            maxSeen = Math.max(maxSeen, e.time());
+            heap.add(new Entry(e, seq++));
+        }
+
+        if (!heap.isEmpty()) {
+            InputParser.External e = heap.poll().e;
+            if (e.processTime() < released) {
+                late++;
+                e = e.delayedTo(released);
+            }
+            released = e.processTime();
+            return e;
+        }
+        if (barrier != null) {
+            InputParser.External e = barrier;
+            barrier = null;
+            released = maxSeen = Long.MIN_VALUE; // ordering is judged within a block only
+            return e;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean exhausted() {
+        return heap.isEmpty() && barrier == null && upstream.exhausted();
+    }
+
+    @Override
+    public void close() throws IOException { upstream.close(); }
+
+    public long outOfOrder() { return outOfOrder; }
+
+    public long late() { return late; }
+}
@@ -5,4 +5,14 @@ import java.util.Optional;
 public interface Scheduler {
     Optional<Process> selectNextProcess(ReadyQueue rq);
     long timeQuantumFor(Process candidate, ReadyQueue rq);
+
+    /**
+     * Ready-queue ordering this scheduler needs, or null for plain FIFO.
+     */
+    default ReadyOrder readyOrder() { return null; }
+
+    /**
+     * Extra scheduler state for system snapshots, or null if there is nothing to show.
+     */
+    default String statusLine() { return null; }
 }
\ No newline at end of file
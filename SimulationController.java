@@ -1,4 +1,7 @@
 import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
 
 /**
  * SimulationController: handles high-level loop, file IO, and statistics display.
@@ -16,71 +19,159 @@ public class SimulationController {
 
     /**
      * Main simulation entry (maps to UML main()).
-     * args[0] = input path, args[1] = output path.
+     * args[0] = input path, args[1] = output path,
+     * args[2] = optional occupancy CSV path (overrides -Dsim.series).
+     *
+     * Live mode: input "-" reads stdin, "tcp:PORT" accepts one connection on localhost.
+     *   -Dsim.clock=event|wall   simulated clock source (default event)
+     *   -Dsim.tick.ms=N          wall-clock milliseconds per time unit (default 1000)
+     *   -Dsim.live.capacity=N    bound on parsed-but-unprocessed commands (default 1024)
+     *
+     * -Dsim.reorder=N re-sorts out-of-order timestamps within an N-command window (default 0).
+     * Trace files only: a live source would hold the last N commands until N more lines arrive.
      */
     public void main(String[] args) throws Exception {
         this.inputFile = args.length > 0 ? args[0] : "input.txt";
         this.outputFile = args.length > 1 ? args[1] : "output.txt";
 
-        try (BufferedReader br = new BufferedReader(new FileReader(inputFile));
-             PrintWriter out = new PrintWriter(new FileWriter(outputFile))) {
+        // Optional occupancy time series: -Dsim.series=path.csv [-Dsim.series.interval=N]
+        String seriesFile = args.length > 2 ? args[2] : System.getProperty("sim.series");
 
-            InputParser.External next = parser.readNextExternalOrNone(br); // one-line lookahead
-            Long nextInternal = null; // time of next internal event (null => infinity)
+        boolean live = inputFile.equals("-") || inputFile.startsWith("tcp:");
+        int window = Integer.getInteger("sim.reorder", 0);
+        if (live && window > 0) {
+            System.err.println("[reorder] -Dsim.reorder ignored for live input; late commands are still delayed and counted");
+            window = 0;
+        }
 
-            // DEBUG: System.out.println("Start simulation loop");
+        try (ReorderingSource source = new ReorderingSource(openSource(inputFile), window);
+             PrintWriter out = new PrintWriter(new FileWriter(outputFile));
+             PrintWriter seriesOut = seriesFile == null ? null : new PrintWriter(new BufferedWriter(new FileWriter(seriesFile)))) {
 
-            while (true) {
-                long i = (next == null) ? Long.MAX_VALUE : next.time();          // next external
-                long e = (nextInternal == null) ? Long.MAX_VALUE : nextInternal; // next internal
-                long T = Math.min(i, e);
+            if (seriesOut != null) {
+                prManager.recordSeries(new OccupancySeries(seriesOut, Long.getLong("sim.series.interval", 10L)));
+            }
 
-                if (T == Long.MAX_VALUE) {
-                    // DEBUG: System.out.println("No more events, exiting loop");
-                    break;
-                }
+            SimulationStats stats = prManager.stats();
+            stats.start(inputFile);
 
-                // Jump time directly
-                currentTime = T;
-                // DEBUG: System.out.println("[TIME JUMP] currentTime=" + currentTime + " i=" + i + " e=" + e);
+            // Reporters and the series must not outlive a failed run (batch mode shares the JVM).
+            try {
+                long t0;
+                InputParser.External next = null; // one-command lookahead
+                Long nextInternal = null; // time of next internal event (null => infinity)
 
-                // Internal first if tie or if internal precedes external
-                if (e <= i) {
-                    prManager.handleInternalAt(currentTime);
-                    nextInternal = prManager.nextInternalTimeOrNull();
-                    // DEBUG: System.out.println("[INTERNAL] processed at time " + currentTime + ", nextInternal=" + nextInternal);
-                }
+                // DEBUG: System.out.println("Start simulation loop");
 
-                // External event (if its timestamp equals currentTime)
-                if (next != null && next.time() == currentTime) {
-                    switch (next.kind()) {
-                        case CONFIG -> {
-                            // DEBUG: System.out.println("[CONFIG] line=" + next.raw());
-                            sysGen(next.raw());
-                            prManager.onConfig(next, currentTime);
-                            nextInternal = prManager.nextInternalTimeOrNull();
-                        }
-                        case ARRIVAL -> {
-                            // DEBUG: System.out.println("[ARRIVAL] line=" + next.raw());
-                            prManager.onArrival(next, currentTime);
-                            nextInternal = prManager.nextInternalTimeOrNull();
-                        }
-                        case DISPLAY -> {
-                            // DEBUG: System.out.println("[DISPLAY] line=" + next.raw());
-                            formatter.dumpSnapshot(out, currentTime, prManager);
-                            if (next.isFinalDisplay()) {
-                                // Final display does NOT stop internal processes automatically; they are done.
-                                // DEBUG: System.out.println("[DISPLAY] Final display encountered.");
+                while (true) {
+                    if (next == null && !source.exhausted()) {
+                        // Live wall-clock sources only wait until the next internal event is due.
+                        t0 = stats.beginPhase();
+                        next = source.next(nextInternal == null ? Long.MAX_VALUE : nextInternal);
+                        stats.endPhase(SimulationStats.Phase.PARSE, t0, currentTime);
+                    }
+
+                    long i = (next == null) ? Long.MAX_VALUE : next.processTime();   // next external
+                    long e = (nextInternal == null) ? Long.MAX_VALUE : nextInternal; // next internal
+                    long T = Math.min(i, e);
+
+                    if (T == Long.MAX_VALUE) {
+                        // DEBUG: System.out.println("No more events, exiting loop");
+                        break;
+                    }
+
+                    // Jump time directly
+                    currentTime = T;
+                    // DEBUG: System.out.println("[TIME JUMP] currentTime=" + currentTime + " i=" + i + " e=" + e);
+
+                    // Internal first if tie or if internal precedes external
+                    if (e <= i) {
+                        t0 = stats.beginPhase();
+                        prManager.handleInternalAt(currentTime);
+                        nextInternal = prManager.nextInternalTimeOrNull();
+                        stats.endPhase(SimulationStats.Phase.MANAGER, t0, currentTime);
+                        recordEvent(stats);
+                        // DEBUG: System.out.println("[INTERNAL] processed at time " + currentTime + ", nextInternal=" + nextInternal);
+                    }
+
+                    // External event (if its timestamp equals currentTime)
+                    if (next != null && next.processTime() == currentTime) {
+                        switch (next.kind()) {
+                            case CONFIG -> {
+                                // DEBUG: System.out.println("[CONFIG] line=" + next.raw());
+                                sysGen(next.raw());
+                                t0 = stats.beginPhase();
+                                prManager.onConfig(next, currentTime);
+                                nextInternal = prManager.nextInternalTimeOrNull();
+                                stats.endPhase(SimulationStats.Phase.MANAGER, t0, currentTime);
+                            }
+                            case ARRIVAL -> {
+                                // DEBUG: System.out.println("[ARRIVAL] line=" + next.raw());
+                                t0 = stats.beginPhase();
+                                prManager.onArrival(next, currentTime);
+                                nextInternal = prManager.nextInternalTimeOrNull();
+                                stats.endPhase(SimulationStats.Phase.MANAGER, t0, currentTime);
+                            }
+                            case DISPLAY -> {
+                                // DEBUG: System.out.println("[DISPLAY] line=" + next.raw());
+                                t0 = stats.beginPhase();
+                                formatter.dumpSnapshot(out, currentTime, prManager);
+                                if (live) out.flush();
+                                stats.endPhase(SimulationStats.Phase.FORMATTER, t0, currentTime);
+                                if (next.isFinalDisplay()) {
+                                    // Final display does NOT stop internal processes automatically; they are done.
+                                    // DEBUG: System.out.println("[DISPLAY] Final display encountered.");
+                                }
                             }
                         }
+                        recordEvent(stats);
+
+                        // Consume external; the next one is fetched at the top of the loop
+                        next = null;
                     }
-                    // Consume external and read next
-                    next = parser.readNextExternalOrNone(br);
                 }
+
+                if (source.outOfOrder() > 0) {
+                    out.printf("Out-of-order events: %d (%d outside the reorder window, processed late)%n",
+                            source.outOfOrder(), source.late());
+                }
+                displayFinalStatistics(out);
+            } finally {
+                prManager.closeSeries();
+                stats.stop();
             }
+        }
+    }
 
-            displayFinalStatistics(out);
+    /**
+     * Open the input as a finished trace file, or as a live stream for "-" / "tcp:PORT".
+     */
+    private ExternalSource openSource(String input) throws IOException {
+        Reader reader;
+        Closeable handle;
+        if (input.equals("-")) {
+            reader = new InputStreamReader(System.in);
+            handle = reader;
+        } else if (input.startsWith("tcp:")) {
+            int port = Integer.parseInt(input.substring(4));
+            try (ServerSocket server = new ServerSocket(port, 1, InetAddress.getLoopbackAddress())) {
+                Socket socket = server.accept();
+                reader = new InputStreamReader(socket.getInputStream());
+                handle = socket;
+            }
+        } else {
+            return new ReaderSource(new BufferedReader(new FileReader(input)), parser);
         }
+
+        LiveSource.Clock clock = "wall".equalsIgnoreCase(System.getProperty("sim.clock"))
+                ? LiveSource.Clock.WALL : LiveSource.Clock.EVENT;
+        return new LiveSource(new BufferedReader(reader), handle, parser,
+                Integer.getInteger("sim.live.capacity", 1024), clock,
+                Long.getLong("sim.tick.ms", 1000L)).start();
+    }
+
+    private void recordEvent(SimulationStats stats) {
+        stats.onEvent(currentTime, prManager.readyQ().size(), prManager.hq1().size(), prManager.hq2().size());
     }
 
     // UML: sysGen()
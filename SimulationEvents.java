@@ -0,0 +1,89 @@
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * SimulationEvents: Java Flight Recorder event types emitted by the simulator.
+ * Phase and Scheduling fire once per simulator event and are disabled by default;
+ * turn them on in a .jfc file or with e.g. -XX:StartFlightRecording:+sim.Phase#enabled=true,+sim.Scheduling#enabled=true.
+ * Counters is a periodic sample of SimulationStats and is enabled by default.
+ */
+public final class SimulationEvents {
+
+    private SimulationEvents() {}
+
+    @Name("sim.Phase")
+    @Label("Simulator Phase")
+    @Category("CPU Scheduling Simulator")
+    @Description("Wall time spent in InputParser, PrManager or DisplayFormatter for one event")
+    @Enabled(false)
+    @StackTrace(false)
+    public static class Phase extends Event {
+        @Label("Phase")
+        String phase;
+
+        @Label("Simulation Time")
+        long simTime;
+
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+    }
+
+    @Name("sim.Scheduling")
+    @Label("Scheduling Decision")
+    @Category("CPU Scheduling Simulator")
+    @Description("Arrival, rejection, admission, dispatch, preemption or completion of a job")
+    @Enabled(false)
+    @StackTrace(false)
+    public static class Scheduling extends Event {
+        @Label("Kind")
+        String kind;
+
+        @Label("Job ID")
+        long pid;
+
+        @Label("Simulation Time")
+        long simTime;
+
+        @Label("Ready Depth")
+        int readyDepth;
+    }
+
+    @Name("sim.Counters")
+    @Label("Simulator Counters")
+    @Category("CPU Scheduling Simulator")
+    @Period("1 s")
+    @StackTrace(false)
+    public static class Counters extends Event {
+        @Label("Simulation Time")
+        long simTime;
+
+        @Label("Events")
+        long events;
+
+        @Label("Ready Depth")
+        int readyDepth;
+
+        @Label("Hold 1 Depth")
+        int hold1Depth;
+
+        @Label("Hold 2 Depth")
+        int hold2Depth;
+
+        @Label("Admissions")
+        long admissions;
+
+        @Label("Preemptions")
+        long preemptions;
+
+        @Label("Completions")
+        long completions;
+    }
+}
@@ -0,0 +1,248 @@
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+
+/**
+ * SimulationStats: live counters for one simulation run.
+ * Written only by the simulation thread; fields are volatile so the JMX bean,
+ * the periodic stats line and the JFR periodic event can read them from other threads.
+ *
+ * System properties:
+ *   -Dsim.stats=true           time InputParser / PrManager / DisplayFormatter phases
+ *   -Dsim.stats.period=N       print a stats line to stderr every N seconds (implies sim.stats)
+ *   -Dsim.jmx=true             register a local MBean as CPUScheduler:type=SimulationStats,run=<input>
+ */
+public class SimulationStats implements SimulationStatsMBean {
+
+    public enum Phase { PARSE, MANAGER, FORMATTER }
+
+    private static final long PERIOD_SECONDS = Long.getLong("sim.stats.period", 0L);
+    private static final boolean JMX = Boolean.getBoolean("sim.jmx");
+    private static final boolean TIMED = Boolean.getBoolean("sim.stats") || PERIOD_SECONDS > 0;
+
+    private volatile long simTime;
+    private volatile long events;
+    private volatile int readyDepth;
+    private volatile int hold1Depth;
+    private volatile int hold2Depth;
+
+    private volatile long arrivals;
+    private volatile long rejections;
+    private volatile long admissions;
+    private volatile long dispatches;
+    private volatile long preemptions;
+    private volatile long completions;
+
+    private volatile long parseNanos;
+    private volatile long managerNanos;
+    private volatile long formatterNanos;
+
+    private long startedAt;
+    private ObjectName objectName;
+    private ScheduledExecutorService reporter;
+
+    // sim.Counters periodic hook; registered once JFR is up, which may be after start()
+    // (e.g. jcmd JFR.start on a long run), so both may be touched from a JFR thread.
+    private FlightRecorderListener jfrListener;
+    private Runnable jfrHook;
+    private boolean stopped;
+
+    /**
+     * Start wall-clock accounting and any enabled reporters (JMX, stats line, JFR periodic).
+     * runName keeps MBeans of concurrent runs (batch mode) apart.
+     */
+    public void start(String runName) {
+        startedAt = System.nanoTime();
+
+        // Hook sim.Counters in when JFR comes up, now or later, without starting it (see Probe).
+        jfrListener = new FlightRecorderListener() {
+            @Override
+            public void recorderInitialized(FlightRecorder recorder) {
+                registerCounters();
+            }
+        };
+        FlightRecorder.addListener(jfrListener);
+
+        if (JMX) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                objectName = new ObjectName("CPUScheduler:type=SimulationStats,run=" + ObjectName.quote(runName));
+                if (server.isRegistered(objectName)) server.unregisterMBean(objectName);
+                server.registerMBean(this, objectName);
+            } catch (Exception e) {
+                System.err.println("[stats] JMX registration failed: " + e);
+            }
+        }
+
+        if (PERIOD_SECONDS > 0) {
+            reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "sim-stats");
+                t.setDaemon(true);
+                return t;
+            });
+            reporter.scheduleAtFixedRate(() -> System.err.println(statsLine()),
+                    PERIOD_SECONDS, PERIOD_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Stop reporters started by start(); prints a last stats line if periodic output is on.
+     */
+    public void stop() {
+        synchronized (this) {
+            stopped = true;
+            if (jfrHook != null) {
+                FlightRecorder.removePeriodicEvent(jfrHook);
+                jfrHook = null;
+            }
+        }
+        if (jfrListener != null) {
+            FlightRecorder.removeListener(jfrListener);
+            jfrListener = null;
+        }
+        if (objectName != null) {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                if (server.isRegistered(objectName)) server.unregisterMBean(objectName);
+                objectName = null;
+            } catch (Exception e) {
+                // Best effort on shutdown.
+            }
+        }
+        if (reporter != null) {
+            reporter.shutdownNow();
+            reporter = null;
+            System.err.println(statsLine());
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // Recording (simulation thread only)
+    // ----------------------------------------------------------------------
+
+    /**
+     * Returns a start stamp for a phase, or 0 when neither stats timing nor sim.Phase is on.
+     */
+    public long beginPhase() {
+        return (TIMED || (FlightRecorder.isInitialized() && Probe.PHASE.isEnabled())) ? System.nanoTime() : 0L;
+    }
+
+    public void endPhase(Phase phase, long startedNanos, long now) {
+        if (startedNanos == 0L) return;
+        long elapsed = System.nanoTime() - startedNanos;
+        switch (phase) {
+            case PARSE -> parseNanos += elapsed;
+            case MANAGER -> managerNanos += elapsed;
+            case FORMATTER -> formatterNanos += elapsed;
+        }
+
+        if (!FlightRecorder.isInitialized()) return;
+        SimulationEvents.Phase ev = new SimulationEvents.Phase();
+        if (ev.shouldCommit()) {
+            ev.phase = phase.name();
+            ev.simTime = now;
+            ev.elapsed = elapsed;
+            ev.commit();
+        }
+    }
+
+    /**
+     * One external or internal event has been fully handled at time now.
+     */
+    public void onEvent(long now, int ready, int hold1, int hold2) {
+        simTime = now;
+        events++;
+        readyDepth = ready;
+        hold1Depth = hold1;
+        hold2Depth = hold2;
+    }
+
+    public void onArrival(Process p, long now, int ready)    { arrivals++;    emit("ARRIVAL", p, now, ready); }
+    public void onRejection(Process p, long now, int ready)  { rejections++;  emit("REJECT", p, now, ready); }
+    public void onAdmission(Process p, long now, int ready)  { admissions++;  emit("ADMIT", p, now, ready); }
+    public void onDispatch(Process p, long now, int ready)   { dispatches++;  emit("DISPATCH", p, now, ready); }
+    public void onPreemption(Process p, long now, int ready) { preemptions++; emit("PREEMPT", p, now, ready); }
+    public void onCompletion(Process p, long now, int ready) { completions++; emit("COMPLETE", p, now, ready); }
+
+    private void emit(String kind, Process p, long now, int ready) {
+        if (!FlightRecorder.isInitialized()) return;
+        SimulationEvents.Scheduling ev = new SimulationEvents.Scheduling();
+        if (ev.shouldCommit()) {
+            ev.kind = kind;
+            ev.pid = p.pid();
+            ev.simTime = now;
+            ev.readyDepth = ready;
+            ev.commit();
+        }
+    }
+
+    private synchronized void registerCounters() {
+        if (stopped || jfrHook != null) return;
+        jfrHook = this::emitCounters;
+        FlightRecorder.addPeriodicEvent(SimulationEvents.Counters.class, jfrHook);
+    }
+
+    private void emitCounters() {
+        SimulationEvents.Counters ev = new SimulationEvents.Counters();
+        ev.simTime = simTime;
+        ev.events = events;
+        ev.readyDepth = readyDepth;
+        ev.hold1Depth = hold1Depth;
+        ev.hold2Depth = hold2Depth;
+        ev.admissions = admissions;
+        ev.preemptions = preemptions;
+        ev.completions = completions;
+        ev.commit();
+    }
+
+    public String statsLine() {
+        return String.format("[stats] t=%d events=%d ev/s=%.0f ready=%d hq1=%d hq2=%d"
+                        + " arrived=%d rejected=%d admitted=%d dispatched=%d preempted=%d completed=%d"
+                        + " parse=%dms pm=%dms fmt=%dms",
+                simTime, events, getEventsPerSecond(), readyDepth, hold1Depth, hold2Depth,
+                arrivals, rejections, admissions, dispatches, preemptions, completions,
+                getParseMillis(), getManagerMillis(), getFormatterMillis());
+    }
+
+    /**
+     * JFR event classes are only touched once Flight Recorder is up: the first
+     * instantiation of an event type otherwise initializes JFR (~300 ms of startup).
+     */
+    private static final class Probe {
+        // Never committed; only used to ask JFR whether sim.Phase is currently recorded.
+        static final SimulationEvents.Phase PHASE = new SimulationEvents.Phase();
+    }
+
+    // ----------------------------------------------------------------------
+    // SimulationStatsMBean
+    // ----------------------------------------------------------------------
+
+    @Override public long getSimTime() { return simTime; }
+    @Override public long getEvents() { return events; }
+
+    @Override
+    public double getEventsPerSecond() {
+        long wall = System.nanoTime() - startedAt;
+        return wall <= 0 ? 0.0 : events * 1e9 / wall;
+    }
+
+    @Override public int getReadyDepth() { return readyDepth; }
+    @Override public int getHold1Depth() { return hold1Depth; }
+    @Override public int getHold2Depth() { return hold2Depth; }
+
+    @Override public long getArrivals() { return arrivals; }
+    @Override public long getRejections() { return rejections; }
+    @Override public long getAdmissions() { return admissions; }
+    @Override public long getDispatches() { return dispatches; }
+    @Override public long getPreemptions() { return preemptions; }
+    @Override public long getCompletions() { return completions; }
+
+    @Override public long getParseMillis() { return parseNanos / 1_000_000L; }
+    @Override public long getManagerMillis() { return managerNanos / 1_000_000L; }
+    @Override public long getFormatterMillis() { return formatterNanos / 1_000_000L; }
+}
@@ -0,0 +1,23 @@
+/**
+ * JMX view of SimulationStats (registered only with -Dsim.jmx=true).
+ */
+public interface SimulationStatsMBean {
+    long getSimTime();
+    long getEvents();
+    double getEventsPerSecond();
+
+    int getReadyDepth();
+    int getHold1Depth();
+    int getHold2Depth();
+
+    long getArrivals();
+    long getRejections();
+    long getAdmissions();
+    long getDispatches();
+    long getPreemptions();
+    long getCompletions();
+
+    long getParseMillis();
+    long getManagerMillis();
+    long getFormatterMillis();
+}
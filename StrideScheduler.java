@@ -0,0 +1,97 @@
+import java.util.*;
+
+/**
+ * Stride scheduling: proportional share by Process.tickets().
+ * Ready jobs sit in a min-heap on pass value; each selection advances the chosen
+ * job's pass by its stride (STRIDE1 / tickets). O(log n) per enqueue/selection.
+ */
+public class StrideScheduler implements Scheduler, ReadyOrder {
+    private static final long STRIDE1 = 1L << 20;
+
+    private final long fixedQuantum;
+    private final PriorityQueue<Entry> heap = new PriorityQueue<>();
+
+    private long globalPass = 0L;  // pass of the last selected job; new arrivals start here
+    private long seq = 0L;         // FIFO tie-break for equal passes
+
+    // The job currently on CPU and the pass it returns with if preempted.
+    private Process dispatched = null;
+    private long dispatchedPass = 0L;
+
+    public StrideScheduler(long fixedQuantum) {
+        this.fixedQuantum = fixedQuantum;
+    }
+
+    @Override
+    public Optional<Process> selectNextProcess(ReadyQueue rq) {
+        return rq.dequeue();
+    }
+
+    @Override
+    public long timeQuantumFor(Process candidate, ReadyQueue rq) {
+        return fixedQuantum;
+    }
+
+    @Override
+    public ReadyOrder readyOrder() { return this; }
+
+    // ----------------------------------------------------------------------
+    // ReadyOrder
+    // ----------------------------------------------------------------------
+
+    @Override
+    public void add(Process p) {
+        long pass = (p == dispatched) ? dispatchedPass : globalPass;
+        heap.add(new Entry(p, pass, seq++));
+    }
+
+    @Override
+    public Optional<Process> poll() {
+        Entry e = heap.poll();
+        if (e == null) return Optional.empty();
+        globalPass = e.pass;
+        dispatched = e.p;
+        dispatchedPass = e.pass + STRIDE1 / Math.max(1L, e.p.tickets());
+        return Optional.of(e.p);
+    }
+
+    @Override
+    public int size() { return heap.size(); }
+
+    /**
+     * Ready jobs in selection order. Sorts a copy of the heap, O(n log n); only used for display.
+     */
+    @Override
+    public List<Process> snapshot() {
+        Entry[] entries = heap.toArray(new Entry[0]);
+        Arrays.sort(entries);
+        List<Process> out = new ArrayList<>(entries.length);
+        for (Entry e : entries) out.add(e.p);
+        return Collections.unmodifiableList(out);
+    }
+
+    @Override
+    public void clear() {
+        heap.clear();
+        globalPass = 0L;
+        dispatched = null;
+    }
+
+    private static final class Entry implements Comparable<Entry> {
+        final Process p;
+        final long pass;
+        final long seq;
+
+        Entry(Process p, long pass, long seq) {
+            this.p = p;
+            this.pass = pass;
+            this.seq = seq;
+        }
+
+        @Override
+        public int compareTo(Entry o) {
+            int c = Long.compare(pass, o.pass);
+            return c != 0 ? c : Long.compare(seq, o.seq);
+        }
+    }
+}
@@ -0,0 +1,226 @@
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * TimingWheel: hierarchical timing wheel for the simulator's internal events
+ * (slice ends, deadlines).
+ *
+ * Eleven levels of 64 slots cover every non-negative long. A timer lives at the level
+ * of the highest 6-bit group in which its time differs from the wheel's current time,
+ * in the slot given by that group. When time moves, only the one slot that becomes
+ * current is re-placed one or more levels down, so each timer is touched at most once
+ * per level over its lifetime.
+ *
+ * Each slot is a small indexed min-heap on (time, scheduling order), so with k timers in
+ * a slot schedule() and cancel() are O(log k), and nextExpiry() is O(levels): per-level
+ * occupancy bitmaps locate the lowest non-empty slot and its heap top is the answer,
+ * even right after the earliest timer was cancelled. Timers due at the same time run
+ * in the order they were scheduled.
+ */
+public class TimingWheel {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int LEVELS = (63 + BITS - 1) / BITS;
+    private static final int MIN_SLOT_CAPACITY = 4;
+
+    /**
+     * Handle for one scheduled action; pass to cancel().
+     */
+    public static final class Timer {
+        private final long when;
+        private final long seq;
+        private final LongConsumer action;
+        private int level = -1; // -1 = not scheduled
+        private int slot;
+        private int index;      // position in its slot's heap
+
+        private Timer(long when, long seq, LongConsumer action) {
+            this.when = when;
+            this.seq = seq;
+            this.action = action;
+        }
+
+        public long when() { return when; }
+
+        private boolean before(Timer o) {
+            return when != o.when ? when < o.when : seq < o.seq;
+        }
+    }
+
+    private final Timer[][][] heaps = new Timer[LEVELS][SLOTS][];
+    private final int[][] counts = new int[LEVELS][SLOTS];
+    private final long[] occupied = new long[LEVELS];
+
+    private long now;
+    private int size = 0;
+    private long seq = 0L;
+
+    public TimingWheel(long start) {
+        this.now = Math.max(0L, start);
+    }
+
+    /**
+     * Schedule action to run at time when (clamped to the wheel's current time).
+     */
+    public Timer schedule(long when, LongConsumer action) {
+        Timer t = new Timer(Math.max(when, now), seq++, action);
+        place(t);
+        size++;
+        return t;
+    }
+
+    public void cancel(Timer t) {
+        if (t == null || t.level < 0) return;
+        unlink(t);
+        size--;
+    }
+
+    /**
+     * Earliest scheduled time, or Long.MAX_VALUE if nothing is pending.
+     */
+    public long nextExpiry() {
+        for (int level = 0; level < LEVELS; level++) {
+            long bits = occupied[level];
+            if (bits == 0L) continue;
+            return heaps[level][Long.numberOfTrailingZeros(bits)][0].when;
+        }
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Run every timer due at or before time t, in time order, then move the wheel to t.
+     * Actions receive their scheduled time and may schedule further timers.
+     */
+    public void advanceTo(long t) {
+        long due;
+        while ((due = nextExpiry()) <= t) {
+            moveTo(due);
+            int slot = (int) (due & (SLOTS - 1));
+            while (counts[0][slot] > 0) {
+                Timer head = heaps[0][slot][0];
+                unlink(head);
+                size--;
+                head.action.accept(head.when);
+            }
+        }
+        if (t > now) moveTo(t);
+    }
+
+    /**
+     * Drop every timer and restart the wheel at time start.
+     */
+    public void clear(long start) {
+        for (int level = 0; level < LEVELS; level++) {
+            long bits = occupied[level];
+            while (bits != 0L) {
+                int slot = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                Timer[] heap = heaps[level][slot];
+                for (int i = 0; i < counts[level][slot]; i++) {
+                    heap[i].level = -1;
+                    heap[i] = null;
+                }
+                counts[level][slot] = 0;
+            }
+            occupied[level] = 0L;
+        }
+        size = 0;
+        now = Math.max(0L, start);
+    }
+
+    public int size() { return size; }
+
+    public long now() { return now; }
+
+    // ----------------------------------------------------------------------
+    // Internals
+    // ----------------------------------------------------------------------
+
+    /**
+     * Move the current time forward to target (no timer may be due before it) and
+     * re-place the single slot whose timers now share target's high-order bits.
+     */
+    private void moveTo(long target) {
+        long diff = now ^ target;
+        now = target;
+        if (diff == 0L) return;
+        int level = (63 - Long.numberOfLeadingZeros(diff)) / BITS;
+        if (level == 0) return;
+        int slot = (int) ((target >>> (level * BITS)) & (SLOTS - 1));
+        int n = counts[level][slot];
+        if (n == 0) return;
+        Timer[] moving = Arrays.copyOf(heaps[level][slot], n);
+        Arrays.fill(heaps[level][slot], 0, n, null);
+        counts[level][slot] = 0;
+        occupied[level] &= ~(1L << slot);
+        for (Timer t : moving) place(t);
+    }
+
+    private void place(Timer t) {
+        long diff = t.when ^ now;
+        int level = diff == 0L ? 0 : (63 - Long.numberOfLeadingZeros(diff)) / BITS;
+        int slot = (int) ((t.when >>> (level * BITS)) & (SLOTS - 1));
+
+        Timer[] heap = heaps[level][slot];
+        int n = counts[level][slot];
+        if (heap == null) {
+            heap = heaps[level][slot] = new Timer[MIN_SLOT_CAPACITY];
+        } else if (n == heap.length) {
+            heap = heaps[level][slot] = Arrays.copyOf(heap, n * 2);
+        }
+        if (n == 0) occupied[level] |= 1L << slot;
+        counts[level][slot] = n + 1;
+        t.level = level;
+        t.slot = slot;
+        siftUp(heap, n, t);
+    }
+
+    private void unlink(Timer t) {
+        int level = t.level, slot = t.slot;
+        Timer[] heap = heaps[level][slot];
+        int n = --counts[level][slot];
+        Timer last = heap[n];
+        heap[n] = null;
+        t.level = -1;
+
+        if (n == 0) {
+            occupied[level] &= ~(1L << slot);
+        } else if (last != t) {
+            // Refill the hole with the last entry, then restore heap order in whichever direction.
+            siftDown(heap, n, t.index, last);
+            if (heap[t.index] == last) siftUp(heap, t.index, last);
+        }
+    }
+
+    private static void siftUp(Timer[] heap, int i, Timer t) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            Timer p = heap[parent];
+            if (!t.before(p)) break;
+            heap[i] = p;
+            p.index = i;
+            i = parent;
+        }
+        heap[i] = t;
+        t.index = i;
+    }
+
+    private static void siftDown(Timer[] heap, int n, int i, Timer t) {
+        int half = n >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            Timer c = heap[child];
+            int right = child + 1;
+            if (right < n && heap[right].before(c)) {
+                child = right;
+                c = heap[child];
+            }
+            if (!c.before(t)) break;
+            heap[i] = c;
+            c.index = i;
+            i = child;
+        }
+        heap[i] = t;
+        t.index = i;
+    }
+}
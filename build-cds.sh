@@ -0,0 +1,21 @@
+#!/bin/sh
+# Compile the simulator into sim.jar and build an AppCDS archive (sim.jsa) by
+# running the sample traces once through BatchMain with -XX:ArchiveClassesAtExit.
+# (CDS only archives classes loaded from JARs, hence the jar step.)
+#
+# Afterwards:
+#   java -XX:SharedArchiveFile=sim.jsa -cp sim.jar BatchMain <dir | manifest> [outputDir]
+set -e
+cd "$(dirname "$0")"
+
+rm -rf out sim.jar sim.jsa
+mkdir -p out
+javac -encoding UTF-8 -d out *.java
+jar cf sim.jar -C out .
+
+training=$(mktemp -d)
+trap 'rm -rf "$training"' EXIT
+ls input*.txt | sed "s|^|$PWD/|" > "$training/manifest"
+
+java -XX:ArchiveClassesAtExit=sim.jsa -cp sim.jar BatchMain "$training/manifest" "$training/out" > /dev/null
+echo "Wrote sim.jsa"